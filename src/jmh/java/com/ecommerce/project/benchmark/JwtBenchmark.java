@@ -0,0 +1,43 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.security.jwt.JwtUtils;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Token work done by AuthTokenFilter on every authenticated request (parse + HMAC verify) and by
+// the sign-in endpoint. Uses the same secret length as application.properties.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private static final String SECRET =
+            "mySecretKey123912738asdfghjklqwertyuiopqrwtwdgkjhckjdshjchdsjkhcfkjHKDSHfewiodyfihksjcxc";
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3000000);
+        ReflectionTestUtils.setField(jwtUtils, "jwtCookie", "springBootEcom");
+        token = jwtUtils.generateTokenFromUsername("bench@example.com");
+    }
+
+    @Benchmark
+    public String parseToken() {
+        return jwtUtils.getUserNameFromJwtToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateTokenFromUsername("bench@example.com");
+    }
+}
@@ -0,0 +1,119 @@
+package com.ecommerce.project.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Cost of logging on request threads. Four threads log one access-style line per call:
+// - sync: the appender writes and flushes inline under its lock, like the default console appender;
+// - async: the prod profile setup, but blocking once the queue is full (sustained throughput);
+// - asyncNeverBlock: the prod profile as configured, dropping events once the queue is full.
+// println is the removed System.out pattern; disabledDebug is a debug call below the logger level.
+// Output goes to a temp file so the terminal's speed does not dominate.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class LoggingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class LoggerState {
+
+        @Param({"sync", "async", "asyncNeverBlock"})
+        public String mode;
+
+        private LoggerContext context;
+        private Logger logger;
+        private Path file;
+
+        @Setup
+        public void setUp() throws IOException {
+            file = Files.createTempFile("logging-benchmark", ".log");
+            context = new LoggerContext();
+
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setContext(context);
+            encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %t %logger{39} : %m%n");
+            encoder.start();
+
+            FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+            fileAppender.setContext(context);
+            fileAppender.setFile(file.toString());
+            fileAppender.setEncoder(encoder);
+            fileAppender.start();
+
+            Appender<ILoggingEvent> appender = fileAppender;
+            if (!mode.equals("sync")) {
+                AsyncAppender async = new AsyncAppender();
+                async.setContext(context);
+                async.setQueueSize(8192);
+                async.setNeverBlock(mode.equals("asyncNeverBlock"));
+                async.addAppender(fileAppender);
+                async.start();
+                appender = async;
+            }
+
+            logger = context.getLogger("access");
+            logger.setLevel(Level.INFO);
+            logger.setAdditive(false);
+            logger.addAppender(appender);
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            context.stop();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PrintState {
+
+        private PrintStream out;
+        private Path file;
+
+        @Setup
+        public void setUp() throws IOException {
+            file = Files.createTempFile("logging-benchmark", ".out");
+            // System.out is a PrintStream with autoflush on println
+            out = new PrintStream(new FileOutputStream(file.toFile()), true);
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            out.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public void accessLine(LoggerState state) {
+        state.logger.info("{} {} route={} status={} ms={} db_statements={}",
+                "GET", "/api/public/products", "/api/public/products", 200, 12L, 2);
+    }
+
+    @Benchmark
+    public void disabledDebug(LoggerState state) {
+        state.logger.debug("Roles from JWT: {}", "ROLE_USER");
+    }
+
+    @Benchmark
+    public void println(PrintState state) {
+        state.out.println("Validate");
+    }
+}
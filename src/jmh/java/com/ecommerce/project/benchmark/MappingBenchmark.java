@@ -0,0 +1,151 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.mapper.CartMapper;
+import com.ecommerce.project.mapper.CartMapperImpl;
+import com.ecommerce.project.mapper.OrderMapper;
+import com.ecommerce.project.mapper.OrderMapperImpl;
+import com.ecommerce.project.mapper.ProductMapper;
+import com.ecommerce.project.mapper.ProductMapperImpl;
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.payload.CartDTO;
+import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.payload.OrderItemDTO;
+import com.ecommerce.project.payload.ProductDTO;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// ModelMapper vs. the generated mappers on the hottest shapes: a product listing row, a cart and
+// an order with their items. Run with -prof gc to compare allocations per call (gc.alloc.rate.norm).
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private ProductMapper productMapper;
+    private CartMapper cartMapper;
+    private OrderMapper orderMapper;
+
+    private Product product;
+    private Cart cart;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        productMapper = new ProductMapperImpl();
+        cartMapper = new CartMapperImpl();
+        orderMapper = new OrderMapperImpl(productMapper);
+
+        Category category = new Category(1L, "Benchmark", new ArrayList<>());
+        product = newProduct(1L, category);
+
+        cart = new Cart();
+        cart.setCartId(1L);
+        cart.setTotalPrice(1800.0);
+        for (long i = 0; i < 10; i++) {
+            CartItem item = new CartItem();
+            item.setCartItemId(i);
+            item.setCart(cart);
+            item.setProduct(newProduct(i, category));
+            item.setQuantity(2);
+            item.setProductPrice(90);
+            item.setDiscount(10);
+            cart.getCartItems().add(item);
+        }
+
+        Address address = new Address("Bench User", "0912345678", "Taipei", "Xinyi", "110", "Benchmark Road 1");
+        address.setAddressId(1L);
+        order = new Order();
+        order.setOrderId(1L);
+        order.setEmail("bench@example.com");
+        order.setOrderDate(LocalDate.now());
+        order.setOrderStatus("Order Accepted !");
+        order.setTotalAmount(900.0);
+        order.setAddress(address);
+        Payment payment = new Payment("card", "pi_benchmark", "succeeded", "ok", "Stripe");
+        payment.setPaymentId(1L);
+        order.setPayment(payment);
+        List<OrderItem> items = new ArrayList<>();
+        for (long i = 0; i < 10; i++) {
+            OrderItem item = new OrderItem();
+            item.setOrderItemId(i);
+            item.setOrder(order);
+            item.setProduct(newProduct(i, category));
+            item.setQuantity(2);
+            item.setOrderedProductPrice(90);
+            item.setDiscount(10);
+            items.add(item);
+        }
+        order.setOrderItems(items);
+    }
+
+    @Benchmark
+    public ProductDTO productModelMapper() {
+        return modelMapper.map(product, ProductDTO.class);
+    }
+
+    @Benchmark
+    public ProductDTO productGenerated() {
+        return productMapper.toProductDTO(product);
+    }
+
+    @Benchmark
+    public CartDTO cartModelMapper() {
+        CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
+        cartDTO.setProducts(cart.getCartItems().stream().map(item -> {
+            ProductDTO productDTO = modelMapper.map(item.getProduct(), ProductDTO.class);
+            productDTO.setQuantity(item.getQuantity());
+            return productDTO;
+        }).toList());
+        return cartDTO;
+    }
+
+    @Benchmark
+    public CartDTO cartGenerated() {
+        CartDTO cartDTO = cartMapper.toCartDTO(cart);
+        cartDTO.setProducts(cart.getCartItems().stream().map(item -> {
+            ProductDTO productDTO = productMapper.toProductDTO(item.getProduct());
+            productDTO.setQuantity(item.getQuantity());
+            return productDTO;
+        }).toList());
+        return cartDTO;
+    }
+
+    @Benchmark
+    public OrderDTO orderModelMapper() {
+        OrderDTO orderDTO = modelMapper.map(order, OrderDTO.class);
+        orderDTO.setOrderItems(new ArrayList<>());
+        order.getOrderItems().forEach(item -> orderDTO.getOrderItems().add(modelMapper.map(item, OrderItemDTO.class)));
+        return orderDTO;
+    }
+
+    @Benchmark
+    public OrderDTO orderGenerated() {
+        OrderDTO orderDTO = orderMapper.toOrderDTO(order);
+        order.getOrderItems().forEach(item -> orderDTO.getOrderItems().add(orderMapper.toOrderItemDTO(item)));
+        return orderDTO;
+    }
+
+    private static Product newProduct(long id, Category category) {
+        Product product = new Product();
+        product.setProductId(id);
+        product.setProductName("Product " + id);
+        product.setDescription("Benchmark product");
+        product.setImage("https://example.com/product.png");
+        product.setQuantity(1000);
+        product.setPrice(100);
+        product.setDiscount(10);
+        product.setSpecialPrice(90);
+        product.setCategory(category);
+        return product;
+    }
+}
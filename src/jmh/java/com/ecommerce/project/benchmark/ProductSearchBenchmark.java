@@ -0,0 +1,119 @@
+package com.ecommerce.project.benchmark;
+
+import com.ecommerce.project.SbEcomApplication;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductResponse;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Product listing and search through ProductService against a synthetic catalog in in-memory H2,
+// so the numbers include the criteria query, count query and DTO mapping but not MySQL itself.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductSearchBenchmark {
+
+    private static final int CATEGORIES = 20;
+
+    @Param({"1000", "10000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private Long categoryId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SbEcomApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.com.ecommerce.project=WARN",
+                        "--frontend.url=http://localhost:5173",
+                        "--cloudinary.cloud_name=benchmark",
+                        "--cloudinary.api_key=benchmark",
+                        "--cloudinary.api_secret=benchmark",
+                        "--stripe.secret.key=sk_test_benchmark",
+                        "--linepay.channel.id=benchmark",
+                        "--linepay.channel.secret=benchmark",
+                        "--linepay.api.url=http://localhost",
+                        "--cart.sweeper.enabled=false",
+                        "--order.reaper.enabled=false",
+                        "--outbox.dispatcher.enabled=false",
+                        "--catalog.changes.purge.enabled=false");
+        productService = context.getBean(ProductService.class);
+
+        CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES; i++) {
+            categories.add(categoryRepository.save(new Category(null, "Category " + i, null)));
+        }
+        categoryId = categories.get(0).getCategoryId();
+
+        List<Product> products = new ArrayList<>(1000);
+        for (int i = 0; i < catalogSize; i++) {
+            Product product = new Product();
+            product.setProductName("Product " + i);
+            product.setDescription("Synthetic benchmark product " + i);
+            product.setImage("https://example.com/product.png");
+            product.setQuantity(100);
+            product.setPrice(100 + i % 900);
+            product.setDiscount(i % 30);
+            product.setSpecialPrice(product.getPrice() - product.getPrice() * product.getDiscount() * 0.01);
+            product.setCategory(categories.get(i % CATEGORIES));
+            products.add(product);
+            if (products.size() == 1000) {
+                productRepository.saveAll(products);
+                products.clear();
+            }
+        }
+        productRepository.saveAll(products);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductResponse defaultListing() {
+        return productService.getAllProducts(0, 50, "productId", "asc", null, null);
+    }
+
+    @Benchmark
+    public ProductResponse keywordListing() {
+        return productService.getAllProducts(0, 50, "productId", "asc", "product 42", null);
+    }
+
+    @Benchmark
+    public ProductResponse categoryPage() {
+        return productService.searchByCategory(categoryId, 0, 50, "price", "desc");
+    }
+
+    @Benchmark
+    public ProductResponse keywordSearch() {
+        return productService.searchProductKeyword("product 42", 0, 50, "productId", "asc");
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.CartItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cart total recomputed by createOrUpdateCartWithItems, across realistic cart sizes.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CartTotalBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int cartLines;
+
+    private List<CartItem> cartItems;
+
+    @Setup
+    public void setUp() {
+        cartItems = new ArrayList<>(cartLines);
+        for (int i = 0; i < cartLines; i++) {
+            CartItem cartItem = new CartItem();
+            cartItem.setQuantity(1 + i % 3);
+            cartItem.setProductPrice(90.0 + i);
+            cartItem.setDiscount(10);
+            cartItems.add(cartItem);
+        }
+    }
+
+    @Benchmark
+    public double cartTotal() {
+        return CartServiceImpl.cartTotal(cartItems);
+    }
+}
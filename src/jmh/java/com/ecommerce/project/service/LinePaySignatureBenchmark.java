@@ -0,0 +1,37 @@
+package com.ecommerce.project.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// HMAC-SHA256 request signature sent with every LINE Pay reserve and confirm call. Lives in the
+// service package because generateSignature is package-private.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LinePaySignatureBenchmark {
+
+    private static final String CHANNEL_SECRET = "a917ab6a2367b536f8e5a6e2977e06f4";
+    private static final String URI = "/v3/payments/request";
+
+    private String body;
+    private String nonce;
+
+    @Setup
+    public void setUp() {
+        body = "{\"amount\":1800,\"currency\":\"TWD\",\"orderId\":\"order-1\",\"packages\":[{\"id\":\"package-1\","
+                + "\"amount\":1800,\"name\":\"Demo Package\",\"products\":[{\"id\":\"product-1\",\"name\":\"Product 1\","
+                + "\"quantity\":1,\"price\":1800}]}],\"redirectUrls\":{\"confirmUrl\":\"http://localhost:5173/confirm\","
+                + "\"cancelUrl\":\"http://localhost:5173/cancel\"}}";
+        nonce = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String sign() throws Exception {
+        return LinePayServiceImpl.generateSignature(CHANNEL_SECRET, URI, body, nonce);
+    }
+}
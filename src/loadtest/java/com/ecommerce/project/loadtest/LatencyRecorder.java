@@ -0,0 +1,85 @@
+package com.ecommerce.project.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Raw per-endpoint latency samples; a run produces at most a few hundred thousand requests, so
+// exact percentiles from sorted samples are cheaper to trust than a histogram.
+public class LatencyRecorder {
+
+    private final Map<String, Samples> endpoints = new ConcurrentSkipListMap<>();
+    private final AtomicLong droppedScenarios = new AtomicLong();
+
+    public void record(String endpoint, long nanos, boolean error) {
+        endpoints.computeIfAbsent(endpoint, e -> new Samples()).add(nanos, error);
+    }
+
+    public void dropScenario() {
+        droppedScenarios.incrementAndGet();
+    }
+
+    public String report(double seconds) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-56s %8s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "err %", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (Map.Entry<String, Samples> entry : endpoints.entrySet()) {
+            long[] sorted = entry.getValue().sorted();
+            long errors = entry.getValue().errors();
+            totalRequests += sorted.length;
+            totalErrors += errors;
+            out.append(String.format("%-56s %8d %8d %7.2f %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), sorted.length, errors, percent(errors, sorted.length), sorted.length / seconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.95)),
+                    millis(percentile(sorted, 0.99)), millis(sorted.length > 0 ? sorted[sorted.length - 1] : 0)));
+        }
+        out.append(String.format("%-56s %8d %8d %7.2f %9.1f%n",
+                "total", totalRequests, totalErrors, percent(totalErrors, totalRequests), totalRequests / seconds));
+        out.append("scenarios dropped (no idle virtual user): ").append(droppedScenarios.get()).append('\n');
+        return out.toString();
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static double percent(long part, long total) {
+        return total == 0 ? 0 : part * 100.0 / total;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static class Samples {
+        private long[] nanos = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void add(long sample, boolean error) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = sample;
+            if (error) {
+                errors++;
+            }
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(nanos, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+    }
+}
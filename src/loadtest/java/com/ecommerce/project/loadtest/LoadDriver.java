@@ -0,0 +1,293 @@
+package com.ecommerce.project.loadtest;
+
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.loadtest.LoadTestSeeder.SeedData;
+import com.ecommerce.project.loadtest.LoadTestSeeder.VirtualUser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPInputStream;
+
+// Open-model load: scenarios start at a fixed rate on their own virtual thread whether or not earlier
+// ones have finished, so a slow server shows up as latency instead of silently lowering the load.
+// Scenarios started during warm-up run normally but are not recorded.
+@Slf4j
+@Component
+@Profile("loadtest")
+public class LoadDriver {
+
+    private static final int PAGE_SIZE = Integer.parseInt(AppConstants.PAGE_SIZE);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.rate}")
+    private double rate;
+
+    @Value("${loadtest.warmup-seconds}")
+    private int warmupSeconds;
+
+    @Value("${loadtest.duration-seconds}")
+    private int durationSeconds;
+
+    @Value("${loadtest.mix.browse}")
+    private int browseWeight;
+
+    @Value("${loadtest.mix.search}")
+    private int searchWeight;
+
+    @Value("${loadtest.mix.checkout}")
+    private int checkoutWeight;
+
+    @Value("${loadtest.mix.linepay}")
+    private int linePayWeight;
+
+    private HttpClient client;
+    private String baseUrl;
+    private SeedData seed;
+    private BlockingQueue<VirtualUser> idleUsers;
+
+    public String run(String baseUrl, SeedData seed) throws InterruptedException {
+        this.baseUrl = baseUrl;
+        this.seed = seed;
+        idleUsers = new ArrayBlockingQueue<>(seed.users().size(), false, seed.users());
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        log.info("Driving {} scenarios/s: {} s warm-up, {} s measured", rate, warmupSeconds, durationSeconds);
+
+        ResourceSampler resources = new ResourceSampler();
+        // the client gets its own executor: it must outlive the scenarios it is still serving
+        try (resources; ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            client = HttpClient.newBuilder()
+                    .executor(httpExecutor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            try (ExecutorService scenarios = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (long next = start; next < end; next += interval) {
+                    LockSupport.parkNanos(next - System.nanoTime());
+                    Session session = new Session(next >= measureFrom ? recorder : null);
+                    scenarios.submit(() -> runScenario(session));
+                }
+            }
+        }
+        return recorder.report(durationSeconds) + resources.report();
+    }
+
+    private void runScenario(Session session) {
+        int pick = ThreadLocalRandom.current().nextInt(browseWeight + searchWeight + checkoutWeight + linePayWeight);
+        try {
+            if (pick < browseWeight) {
+                browse(session);
+            } else if (pick < browseWeight + searchWeight) {
+                search(session);
+            } else {
+                VirtualUser user = idleUsers.poll();
+                if (user == null) {
+                    if (session.recorder != null) {
+                        session.recorder.dropScenario();
+                    }
+                    return;
+                }
+                try {
+                    if (pick < browseWeight + searchWeight + checkoutWeight) {
+                        cardCheckout(session, user);
+                    } else {
+                        linePayCheckout(session, user);
+                    }
+                } finally {
+                    idleUsers.add(user);
+                }
+            }
+        } catch (ScenarioAbortedException e) {
+            // the failed request is already recorded as an error; the rest of the scenario depends on it
+        } catch (RuntimeException e) {
+            log.warn("Scenario failed", e);
+        }
+    }
+
+    private void browse(Session session) {
+        // mostly first pages, like real shoppers, but never past the last seeded page
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int categoryPages = Math.max(1, seed.productIds().size() / seed.categoryIds().size() / PAGE_SIZE);
+        session.get("GET /api/public/categories", "/api/public/categories", null);
+        session.get("GET /api/public/products", "/api/public/products?pageNumber="
+                + random.nextInt(Math.min(5, Math.max(1, seed.productIds().size() / PAGE_SIZE))), null);
+        Long categoryId = seed.categoryIds().get(random.nextInt(seed.categoryIds().size()));
+        session.get("GET /api/public/categories/{categoryId}/products",
+                "/api/public/categories/" + categoryId + "/products?pageNumber=" + random.nextInt(Math.min(3, categoryPages)), null);
+    }
+
+    private void search(Session session) {
+        String word = LoadTestSeeder.WORDS[ThreadLocalRandom.current().nextInt(LoadTestSeeder.WORDS.length)];
+        session.get("GET /api/public/products?keyword", "/api/public/products?keyword=" + word.toLowerCase(), null);
+        session.get("GET /api/public/products/keyword/{keyword}", "/api/public/products/keyword/" + word, null);
+    }
+
+    private void cardCheckout(Session session, VirtualUser user) {
+        double total = fillCart(session, user);
+        session.postForText("POST /api/order/stripe-client-secret", "/api/order/stripe-client-secret", user.token,
+                Map.of("amount", Math.round(total), "currency", "twd"));
+        session.post("POST /api/order/users/payments/{paymentMethod}", "/api/order/users/payments/card", user.token,
+                Map.of("addressId", user.addressId, "pgName", "Stripe", "pgPaymentId", "pi_loadtest",
+                        "pgStatus", "succeeded", "pgResponseMessage", "ok"));
+    }
+
+    private void linePayCheckout(Session session, VirtualUser user) {
+        double total = fillCart(session, user);
+        JsonNode order = session.post("POST /api/order/create-for-linepay", "/api/order/create-for-linepay", user.token,
+                Map.of("addressId", user.addressId, "totalAmount", total));
+        long orderId = order.get("orderId").asLong();
+        long amount = Math.round(total);
+
+        String paymentUrl = session.postForText("POST /api/order/linepay-reserve", "/api/order/linepay-reserve", user.token,
+                Map.of("amount", amount, "currency", "TWD", "orderId", String.valueOf(orderId),
+                        "productName", "Load test order", "confirmUrl", baseUrl + "/confirm", "cancelUrl", baseUrl + "/cancel"));
+        String transactionId = paymentUrl.substring(paymentUrl.lastIndexOf('/') + 1);
+
+        session.postForText("POST /api/order/linepay-confirm/{transactionId}", "/api/order/linepay-confirm/" + transactionId,
+                user.token, Map.of("orderId", orderId, "amount", amount, "currency", "TWD"));
+        session.post("POST /api/order/users/payments/{paymentMethod}", "/api/order/users/payments/linepay", user.token,
+                Map.of("addressId", user.addressId, "orderId", orderId, "pgName", "LinePay", "pgPaymentId", transactionId,
+                        "pgStatus", "succeeded", "pgResponseMessage", "ok"));
+    }
+
+    // signs in on first use, adds 1-3 distinct products and returns the cart total
+    private double fillCart(Session session, VirtualUser user) {
+        if (user.token == null) {
+            JsonNode auth = session.post("POST /api/auth/signin", "/api/auth/signin", null,
+                    Map.of("username", user.userName, "password", LoadTestSeeder.PASSWORD));
+            user.token = auth.get("token").asText();
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Long> productIds = seed.productIds();
+        Set<Long> picked = new LinkedHashSet<>();
+        int lines = 1 + random.nextInt(3);
+        while (picked.size() < lines) {
+            picked.add(productIds.get(random.nextInt(productIds.size())));
+        }
+        for (Long productId : picked) {
+            session.post("POST /api/carts/products/{productId}/quantity/{quantity}",
+                    "/api/carts/products/" + productId + "/quantity/" + (1 + random.nextInt(2)), user.token, null);
+        }
+        JsonNode cart = session.get("GET /api/carts/users/cart", "/api/carts/users/cart", user.token);
+        return cart.get("totalPrice").asDouble();
+    }
+
+    private class Session {
+        private final LatencyRecorder recorder;
+
+        private Session(LatencyRecorder recorder) {
+            this.recorder = recorder;
+        }
+
+        JsonNode get(String endpoint, String path, String token) {
+            return json(send(endpoint, request(path, token).GET().build()));
+        }
+
+        JsonNode post(String endpoint, String path, String token, Object body) {
+            return json(send(endpoint, request(path, token).POST(body(body)).build()));
+        }
+
+        String postForText(String endpoint, String path, String token, Object body) {
+            return send(endpoint, request(path, token).POST(body(body)).build());
+        }
+
+        private HttpRequest.Builder request(String path, String token) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .header("Accept-Encoding", "gzip");
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            return builder;
+        }
+
+        private HttpRequest.BodyPublisher body(Object body) {
+            if (body == null) {
+                return HttpRequest.BodyPublishers.noBody();
+            }
+            try {
+                return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private String send(String endpoint, HttpRequest request) {
+            long start = System.nanoTime();
+            HttpResponse<byte[]> response = null;
+            try {
+                response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            } catch (IOException e) {
+                log.debug("{} failed: {}", endpoint, e.toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            long elapsed = System.nanoTime() - start;
+            boolean error = response == null || response.statusCode() >= 400;
+            if (recorder != null) {
+                recorder.record(endpoint, elapsed, error);
+            }
+            if (error) {
+                throw new ScenarioAbortedException();
+            }
+            return decode(response);
+        }
+
+        private String decode(HttpResponse<byte[]> response) {
+            byte[] bytes = response.body();
+            if ("gzip".equals(response.headers().firstValue("Content-Encoding").orElse(null))) {
+                try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                    bytes = in.readAllBytes();
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private JsonNode json(String body) {
+            try {
+                return objectMapper.readTree(body);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static class ScenarioAbortedException extends RuntimeException {
+        ScenarioAbortedException() {
+            super(null, null, false, false);
+        }
+    }
+}
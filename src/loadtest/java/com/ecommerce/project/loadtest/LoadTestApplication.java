@@ -0,0 +1,52 @@
+package com.ecommerce.project.loadtest;
+
+import com.ecommerce.project.SbEcomApplication;
+import com.stripe.Stripe;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Boots the whole application on an embedded database with local payment providers, seeds it and
+// drives the mixed scenario load against the real HTTP stack. Any loadtest.* or Spring property can
+// be overridden with --name=value, e.g.
+//   mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--loadtest.rate=200 --loadtest.users=500"
+@Slf4j
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        long providerLatencyMs = Long.parseLong(argument(args, "loadtest.provider-latency-ms", "50"));
+        try (PaymentProviderStub providers = new PaymentProviderStub(providerLatencyMs)) {
+            List<String> appArgs = new ArrayList<>(Arrays.asList(args));
+            appArgs.add("--server.port=0");
+            appArgs.add("--linepay.api.url=" + providers.baseUrl());
+
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(SbEcomApplication.class)
+                    .profiles("loadtest")
+                    .run(appArgs.toArray(String[]::new));
+            Stripe.overrideApiBase(providers.baseUrl());
+            try {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                LoadTestSeeder.SeedData seed = context.getBean(LoadTestSeeder.class).seed();
+                String report = context.getBean(LoadDriver.class).run("http://localhost:" + port, seed);
+                log.info("Load test results (virtual threads: {}):\n{}",
+                        context.getEnvironment().getProperty("spring.threads.virtual.enabled"), report);
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private static String argument(String[] args, String name, String defaultValue) {
+        String prefix = "--" + name + "=";
+        return Arrays.stream(args)
+                .filter(arg -> arg.startsWith(prefix))
+                .map(arg -> arg.substring(prefix.length()))
+                .findFirst()
+                .orElse(defaultValue);
+    }
+}
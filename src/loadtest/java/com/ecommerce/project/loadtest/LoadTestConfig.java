@@ -0,0 +1,19 @@
+package com.ecommerce.project.loadtest;
+
+import com.ecommerce.project.service.ImageService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfig {
+
+    // uploads are admin-only and not part of the scenarios; never call Cloudinary from a load run
+    @Bean
+    @Primary
+    public ImageService loadTestImageService() {
+        return file -> "https://res.cloudinary.com/loadtest/image/upload/" + file.getOriginalFilename();
+    }
+}
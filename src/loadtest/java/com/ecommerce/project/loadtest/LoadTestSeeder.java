@@ -0,0 +1,123 @@
+package com.ecommerce.project.loadtest;
+
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.repositories.AddressRepository;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.repositories.RoleRepository;
+import com.ecommerce.project.repositories.UserRepository;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Synthetic catalog, users and addresses. Product names are "<word> <n>" so the search scenario
+// can pick keywords that match a realistic share of the catalog.
+@Slf4j
+@Component
+@Profile("loadtest")
+public class LoadTestSeeder {
+
+    static final String[] WORDS = {"Lamp", "Chair", "Mug", "Shirt", "Phone", "Camera", "Desk", "Bag", "Watch", "Shoe"};
+    static final String PASSWORD = "loadtestPass";
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${loadtest.categories}")
+    private int categoryCount;
+
+    @Value("${loadtest.products}")
+    private int productCount;
+
+    @Value("${loadtest.users}")
+    private int userCount;
+
+    @Transactional
+    public SeedData seed() {
+        long start = System.currentTimeMillis();
+
+        List<Long> categoryIds = new ArrayList<>();
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < categoryCount; i++) {
+            Category category = categoryRepository.save(new Category(null, "Load Category " + i, null));
+            categories.add(category);
+            categoryIds.add(category.getCategoryId());
+        }
+
+        List<Long> productIds = new ArrayList<>();
+        List<Product> batch = new ArrayList<>();
+        for (int i = 0; i < productCount; i++) {
+            Product product = new Product();
+            product.setProductName(WORDS[i % WORDS.length] + " " + i);
+            product.setDescription("Synthetic load test product " + i);
+            product.setImage("https://example.com/product.png");
+            product.setQuantity(1_000_000);
+            product.setPrice(100 + i % 900);
+            product.setDiscount(i % 30);
+            product.setSpecialPrice(product.getPrice() - product.getPrice() * product.getDiscount() * 0.01);
+            product.setCategory(categories.get(i % categories.size()));
+            batch.add(product);
+            if (batch.size() == 500 || i == productCount - 1) {
+                productRepository.saveAll(batch).forEach(p -> productIds.add(p.getProductId()));
+                batch.clear();
+            }
+        }
+
+        // one BCrypt hash shared by every user, hashing thousands of passwords would dominate startup
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        Role userRole = roleRepository.findByRoleName(AppRole.ROLE_USER).orElseThrow();
+        List<VirtualUser> users = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            User user = new User("loaduser" + i, "loaduser" + i + "@example.com", passwordHash);
+            user.setRoles(Set.of(userRole));
+            user = userRepository.save(user);
+
+            Address address = new Address("Load User " + i, "0912345678", "Taipei", "Xinyi", "110", "Load Road " + i);
+            address.setUser(user);
+            address = addressRepository.save(address);
+            users.add(new VirtualUser(user.getUserName(), address.getAddressId()));
+        }
+
+        log.info("Seeded {} categories, {} products, {} users in {} ms",
+                categoryIds.size(), productIds.size(), users.size(), System.currentTimeMillis() - start);
+        return new SeedData(categoryIds, productIds, users);
+    }
+
+    public record SeedData(List<Long> categoryIds, List<Long> productIds, List<VirtualUser> users) {
+    }
+
+    // a signed-in shopper; the token is fetched on first use and reused like a browser session would
+    public static class VirtualUser {
+        final String userName;
+        final Long addressId;
+        String token;
+
+        VirtualUser(String userName, Long addressId) {
+            this.userName = userName;
+            this.addressId = addressId;
+        }
+    }
+}
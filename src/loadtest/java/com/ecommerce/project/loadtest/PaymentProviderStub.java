@@ -0,0 +1,73 @@
+package com.ecommerce.project.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Local stand-in for Stripe and LINE Pay. Answers the endpoints the services call with canned
+// success bodies after a fixed delay, so checkout runs the real client code without leaving the host.
+public class PaymentProviderStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final long latencyMs;
+    private final AtomicLong transactionIds = new AtomicLong(2025000000000L);
+
+    public PaymentProviderStub(long latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/v1/payment_intents", this::stripePaymentIntent);
+        server.createContext("/v3/payments", this::linePay);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private void stripePaymentIntent(HttpExchange exchange) throws IOException {
+        String id = "pi_" + UUID.randomUUID().toString().replace("-", "");
+        respond(exchange, "{\"id\":\"" + id + "\",\"object\":\"payment_intent\",\"amount\":1000,"
+                + "\"currency\":\"twd\",\"status\":\"requires_payment_method\","
+                + "\"client_secret\":\"" + id + "_secret_loadtest\"}");
+    }
+
+    private void linePay(HttpExchange exchange) throws IOException {
+        if (exchange.getRequestURI().getPath().endsWith("/confirm")) {
+            respond(exchange, "{\"returnCode\":\"0000\",\"returnMessage\":\"Success.\",\"info\":{}}");
+        } else {
+            long transactionId = transactionIds.incrementAndGet();
+            respond(exchange, "{\"returnCode\":\"0000\",\"returnMessage\":\"Success.\",\"info\":{"
+                    + "\"paymentUrl\":{\"web\":\"" + baseUrl() + "/pay/" + transactionId + "\"},"
+                    + "\"transactionId\":" + transactionId + "}}");
+        }
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("Request-Id", "req_loadtest");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,83 @@
+package com.ecommerce.project.loadtest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Samples heap and platform thread counts while a run is in progress, so runs with different thread
+// settings (spring.threads.virtual.enabled) can be compared on memory as well as latency. The load
+// driver lives in the same JVM; its share is the same in every run, so differences are the server's.
+// ThreadMXBean only sees platform threads: with virtual threads on, the count stays near the carriers.
+public class ResourceSampler implements AutoCloseable {
+
+    private static final long INTERVAL_MS = 100;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final Thread sampler;
+    private final long startGcCount;
+    private final long startGcMillis;
+
+    private volatile boolean running = true;
+    private long samples;
+    private long heapUsedTotal;
+    private long peakHeapUsed;
+    private long peakHeapCommitted;
+
+    public ResourceSampler() {
+        threads.resetPeakThreadCount();
+        startGcCount = gcCount();
+        startGcMillis = gcMillis();
+        sampler = Thread.ofPlatform().daemon().name("loadtest-sampler").start(this::sample);
+    }
+
+    private void sample() {
+        while (running) {
+            long used = memory.getHeapMemoryUsage().getUsed();
+            long committed = memory.getHeapMemoryUsage().getCommitted();
+            synchronized (this) {
+                samples++;
+                heapUsedTotal += used;
+                peakHeapUsed = Math.max(peakHeapUsed, used);
+                peakHeapCommitted = Math.max(peakHeapCommitted, committed);
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(INTERVAL_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        sampler.interrupt();
+        sampler.join();
+    }
+
+    public synchronized String report() {
+        return String.format("heap MB: avg used %.1f, peak used %.1f, peak committed %.1f%n"
+                        + "gc: %d collections, %d ms%n"
+                        + "platform threads: peak %d, live at end %d%n",
+                megabytes(samples == 0 ? 0 : heapUsedTotal / samples), megabytes(peakHeapUsed),
+                megabytes(peakHeapCommitted), gcCount() - startGcCount, gcMillis() - startGcMillis,
+                threads.getPeakThreadCount(), threads.getThreadCount());
+    }
+
+    private long gcCount() {
+        return collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).filter(c -> c > 0).sum();
+    }
+
+    private long gcMillis() {
+        return collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).filter(t -> t > 0).sum();
+    }
+
+    private static double megabytes(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+}
@@ -0,0 +1,69 @@
+package com.ecommerce.project.config;
+
+import com.ecommerce.project.util.DbRequestStats;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// One line per sampled request on the "access" logger, tagged with the route pattern. Server errors
+// and requests slower than always-above-ms are always logged; everything else is sampled so a busy
+// catalog does not turn the access log into the bottleneck. Runs inside DbTimingFilter so the line
+// can carry the request's statement count. Warm-up requests are not logged.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "access-log.enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("access");
+
+    @Value("${access-log.sample-rate}")
+    private double sampleRate;
+
+    @Value("${access-log.always-above-ms}")
+    private long alwaysAboveMs;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return WarmUpRequests.isWarmUp(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!accessLog.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            // an exception escaping the chain becomes a 500 further out, while the response still says 200
+            int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            if (status >= 500 || elapsedMs >= alwaysAboveMs || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DbRequestStats stats = DbRequestStats.current();
+                accessLog.info("{} {} route={} status={} ms={} db_statements={}",
+                        request.getMethod(), request.getRequestURI(), route != null ? route : "UNKNOWN", status, elapsedMs,
+                        stats != null ? stats.getStatements() : "-");
+            }
+        }
+    }
+}
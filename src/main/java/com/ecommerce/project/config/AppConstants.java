@@ -6,5 +6,12 @@ public class AppConstants {
     public static final String SORT_CATEGORIES_BY = "categoryId";
     public static final String SORT_PRODUCTS_BY = "productId";
     public static final String SORT_DIR = "asc";
+    public static final String ORDER_STATUS_PENDING = "PENDING";
+    public static final String ORDER_STATUS_EXPIRED = "EXPIRED";
+    public static final String REPORT_LIMIT = "50";
+    public static final int REPORT_DEFAULT_DAYS = 30;
+    public static final String CATALOG_CHANGES_LIMIT = "500";
+    public static final String SLOW_QUERY_LIMIT = "20";
+    public static final String DEFAULT_PRODUCT_IMAGE = "https://res.cloudinary.com/drbhr7kmb/image/upload/v1754286944/default_o4fznm.png";
 }
 
@@ -0,0 +1,90 @@
+package com.ecommerce.project.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+
+// Strong ETag for public catalog reads: an in-memory catalog version plus a digest of the path and
+// the normalised query string. A matching If-None-Match is answered with 304 here, before the
+// controller or any repository runs; any catalog write bumps the version and changes every tag.
+// Otherwise the tag and Cache-Control wait in a request attribute until the status is known, and
+// CatalogHttpCachingAdvice only puts them on 2xx responses, so errors are never cached downstream.
+public class CatalogETagInterceptor implements HandlerInterceptor {
+
+    private static final String PENDING_HEADERS = CatalogETagInterceptor.class.getName() + ".headers";
+
+    private final LongSupplier version;
+    private final String cacheControl;
+
+    public CatalogETagInterceptor(LongSupplier version, String cacheControl) {
+        this.version = version;
+        this.cacheControl = cacheControl;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String method = request.getMethod();
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return true;
+        }
+
+        String etag = "\"" + version.getAsLong() + "-" + requestDigest(request) + "\"";
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        request.setAttribute(PENDING_HEADERS, new String[]{etag, cacheControl});
+        return true;
+    }
+
+    // sets the tag computed in preHandle, if any; callers make sure the response is a 2xx
+    public static void applyHeaders(HttpServletRequest request, HttpServletResponse response) {
+        if (request.getAttribute(PENDING_HEADERS) instanceof String[] headers) {
+            response.setHeader(HttpHeaders.ETAG, headers[0]);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, headers[1]);
+        }
+    }
+
+    private String requestDigest(HttpServletRequest request) {
+        // parameter order must not change the tag
+        Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        parameters.forEach((name, values) -> {
+            String[] sorted = values.clone();
+            Arrays.sort(sorted);
+            key.append('&').append(name).append('=').append(String.join(",", sorted));
+        });
+        return DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // If-None-Match uses weak comparison, so a W/ prefix added by a proxy still matches
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
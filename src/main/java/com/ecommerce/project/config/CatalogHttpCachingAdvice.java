@@ -0,0 +1,48 @@
+package com.ecommerce.project.config;
+
+import com.ecommerce.project.util.CatalogResponseCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Runs once the handler (or an exception handler) has set the status and just before the body is
+// written: only successful catalog responses get the ETag and Cache-Control from CatalogETagInterceptor,
+// and only a 200 is handed to CatalogResponseCache.
+@ControllerAdvice
+public class CatalogHttpCachingAdvice implements ResponseBodyAdvice<Object> {
+
+    @Autowired
+    private CatalogResponseCache catalogResponseCache;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && response instanceof ServletServerHttpResponse servletResponse) {
+            HttpServletRequest source = servletRequest.getServletRequest();
+            HttpServletResponse target = servletResponse.getServletResponse();
+            if (target.getStatus() >= 200 && target.getStatus() < 300) {
+                CatalogETagInterceptor.applyHeaders(source, target);
+            }
+            if (target.getStatus() == HttpServletResponse.SC_OK && body != null) {
+                catalogResponseCache.store(source, target, body);
+            }
+        }
+        return body;
+    }
+}
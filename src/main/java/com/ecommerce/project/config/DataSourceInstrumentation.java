@@ -0,0 +1,161 @@
+package com.ecommerce.project.config;
+
+import com.ecommerce.project.service.SlowQueryService;
+import com.ecommerce.project.util.DbRequestStats;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// Wraps the pool so every connection checkout and statement execution is timed into the current
+// request's DbRequestStats. Statements are proxied rather than logged, so there is no per-query
+// output; the proxy only adds two nanoTime calls around each execute. Statements over the slow-query
+// threshold are handed to SlowQueryService together with their SQL and bind values.
+@Component
+@ConditionalOnProperty(name = "db.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceInstrumentation implements BeanPostProcessor {
+
+    private final ObjectProvider<SlowQueryService> slowQueryService;
+
+    public DataSourceInstrumentation(ObjectProvider<SlowQueryService> slowQueryService) {
+        this.slowQueryService = slowQueryService;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+            return new InstrumentedDataSource(dataSource, slowQueryService);
+        }
+        return bean;
+    }
+
+    static class InstrumentedDataSource extends DelegatingDataSource {
+
+        private final ObjectProvider<SlowQueryService> slowQueryServiceProvider;
+        // resolved on first use: the pool is created before the service
+        private volatile SlowQueryService slowQueryService;
+
+        InstrumentedDataSource(DataSource target, ObjectProvider<SlowQueryService> slowQueryService) {
+            super(target);
+            this.slowQueryServiceProvider = slowQueryService;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            long start = System.nanoTime();
+            Connection connection = super.getConnection();
+            DbRequestStats.recordConnectionWait(System.nanoTime() - start);
+            return wrap(connection);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            long start = System.nanoTime();
+            Connection connection = super.getConnection(username, password);
+            DbRequestStats.recordConnectionWait(System.nanoTime() - start);
+            return wrap(connection);
+        }
+
+        private Connection wrap(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new ConnectionHandler(connection, this));
+        }
+
+        private void executed(String sql, List<Object> parameters, long elapsedNanos) {
+            DbRequestStats.recordStatement(elapsedNanos);
+            SlowQueryService service = slowQueryService;
+            if (service == null) {
+                service = slowQueryServiceProvider.getIfAvailable();
+                if (service == null) {
+                    return;
+                }
+                slowQueryService = service;
+            }
+            if (sql != null && elapsedNanos >= service.thresholdNanos()) {
+                service.record(sql, parameters, elapsedNanos, obtainTargetDataSource());
+            }
+        }
+    }
+
+    private record ConnectionHandler(Connection target, InstrumentedDataSource dataSource) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            Object result = invokeTarget(target, method, args);
+            // createStatement, prepareStatement and prepareCall; the proxy keeps the declared type
+            if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[]{method.getReturnType()}, new StatementHandler(statement, sql, dataSource));
+            }
+            return result;
+        }
+    }
+
+    private static class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private final InstrumentedDataSource dataSource;
+        private final List<Object> parameters = new ArrayList<>();
+
+        StatementHandler(Statement target, String preparedSql, InstrumentedDataSource dataSource) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            }
+            if (!name.startsWith("execute")) {
+                return invokeTarget(target, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return invokeTarget(target, method, args);
+            } finally {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                dataSource.executed(sql, parameters, System.nanoTime() - start);
+            }
+        }
+
+        private void bind(int index, Object value) {
+            while (parameters.size() < index) {
+                parameters.add(null);
+            }
+            parameters.set(index - 1, value);
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.ecommerce.project.config;
+
+import com.ecommerce.project.util.DbRequestStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Per-request JDBC breakdown. Runs outside the security chain so the JWT user lookup is counted too.
+// Statement count, DB time and connection wait go to histograms tagged by route, optionally to a
+// Server-Timing header (added just before the response commits, while the body is still unwritten),
+// and requests slower than the threshold are logged with the breakdown. Warm-up requests are skipped.
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "db.instrumentation.enabled", havingValue = "true", matchIfMissing = true)
+public class DbTimingFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${db.instrumentation.server-timing.enabled}")
+    private boolean serverTimingEnabled;
+
+    @Value("${db.instrumentation.slow-request-ms}")
+    private long slowRequestMs;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return WarmUpRequests.isWarmUp(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        DbRequestStats stats = DbRequestStats.start();
+        long start = System.nanoTime();
+        HttpServletResponse target = serverTimingEnabled ? new ServerTimingResponse(response, stats) : response;
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            DbRequestStats.end();
+            record(request, response, stats, System.nanoTime() - start);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, DbRequestStats stats, long elapsedNanos) {
+        String method = request.getMethod();
+        String route = route(request);
+
+        DistributionSummary.builder("http.server.requests.db.statements")
+                .tags("method", method, "uri", route)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("http.server.requests.db.time")
+                .tags("method", method, "uri", route)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getStatementNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("http.server.requests.db.connection.wait")
+                .tags("method", method, "uri", route)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getConnectionWaitNanos(), TimeUnit.NANOSECONDS);
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (elapsedMs >= slowRequestMs) {
+            log.warn("Slow request {} {} ({}): {} ms total, {} ms in {} statements, {} ms waiting for a connection, {} ms elsewhere",
+                    method, request.getRequestURI(), route, elapsedMs,
+                    TimeUnit.NANOSECONDS.toMillis(stats.getStatementNanos()), stats.getStatements(),
+                    TimeUnit.NANOSECONDS.toMillis(stats.getConnectionWaitNanos()),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos - stats.getStatementNanos() - stats.getConnectionWaitNanos()));
+        }
+    }
+
+    // the mapped pattern keeps the tag cardinality bounded; unmatched requests share one tag
+    private String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    static String serverTiming(DbRequestStats stats) {
+        return String.format(Locale.ROOT, "db;desc=\"%d statements\";dur=%.1f, db-wait;dur=%.1f",
+                stats.getStatements(), stats.getStatementNanos() / 1_000_000.0, stats.getConnectionWaitNanos() / 1_000_000.0);
+    }
+
+    private static class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+        private final DbRequestStats stats;
+
+        ServerTimingResponse(HttpServletResponse response, DbRequestStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            addHeader("Server-Timing", serverTiming(stats));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.project.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.web.SecurityFilterChain;
+
+// Eager exceptions to the faststart profile's lazy initialization: anything whose failure must stop the
+// instance before it takes traffic. Migrations, Hibernate's schema validation, the index check and the
+// security configuration still run at startup; @Scheduled beans are kept eager by Spring Boot itself.
+@Configuration
+@Profile("faststart")
+public class FastStartConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter fastStartEagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(FlywayMigrationInitializer.class,
+                EntityManagerFactory.class, SchemaIndexVerifier.class, SecurityFilterChain.class);
+    }
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.project.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+// RestTemplate for payment providers, backed by the JDK HttpClient: its blocking send parks a virtual
+// thread instead of pinning it, and both connect and read are bounded by payment.http.* timeouts.
+// Built from Boot's RestTemplateBuilder so calls are recorded as http.client.requests.
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${payment.http.connect-timeout-ms}")
+    private long connectTimeoutMs;
+
+    @Value("${payment.http.read-timeout-ms}")
+    private long readTimeoutMs;
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return builder.requestFactory(() -> requestFactory).build();
+    }
+}
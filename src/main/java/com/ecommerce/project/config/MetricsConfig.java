@@ -0,0 +1,26 @@
+package com.ecommerce.project.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationPredicate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+// Enables @Timed on service methods; timers created that way carry an "exception" tag, so failures
+// are counted alongside latency. Warm-up requests are not observed, so they stay out of
+// http.server.requests.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public ObservationPredicate skipWarmUpRequests() {
+        return (name, context) -> !(context instanceof ServerRequestObservationContext request
+                && WarmUpRequests.isWarmUp(request.getCarrier()));
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.project.config;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.xml.XmlConfiguration;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import javax.cache.CacheManager;
+import javax.cache.spi.CachingProvider;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.util.Map;
+import java.util.UUID;
+
+// JCache region factory that gives every SessionFactory its own Ehcache CacheManager, built from
+// hibernate.javax.cache.uri. The stock factory asks the provider for the manager registered under that
+// URI, which is shared JVM-wide: two application contexts in one JVM (the test suite) would read each
+// other's entities, and closing one would close the other's caches.
+public class PerFactoryJCacheRegionFactory extends JCacheRegionFactory {
+
+    @Override
+    protected CacheManager resolveCacheManager(SessionFactoryOptions settings, Map<String, Object> properties) {
+        CachingProvider provider = getCachingProvider(properties);
+        URI configUri = getUri(settings, properties);
+        if (!(provider instanceof EhcacheCachingProvider ehcache) || configUri == null) {
+            return super.resolveCacheManager(settings, properties);
+        }
+        try {
+            XmlConfiguration configuration = new XmlConfiguration(configUri.toURL(), getClassLoader(provider));
+            // the URI is only the registration key; the configuration is passed in directly
+            return ehcache.getCacheManager(URI.create("urn:sb-ecom:hibernate:" + UUID.randomUUID()), configuration);
+        } catch (MalformedURLException e) {
+            throw new CacheException("Invalid cache configuration URI " + configUri, e);
+        }
+    }
+}
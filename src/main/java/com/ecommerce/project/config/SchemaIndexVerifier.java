@@ -0,0 +1,142 @@
+package com.ecommerce.project.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+// Checks at startup, before the application reports ready, that every @Index and @UniqueConstraint
+// declared on the entities exists in the database. The migrations own the schema, so an annotation
+// added without its migration, or a migration that never ran somewhere, would otherwise only show
+// up as slow queries. An index counts if its leading columns match; a unique constraint needs a
+// unique index on exactly its columns.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "schema.index-check.enabled", havingValue = "true", matchIfMissing = true)
+public class SchemaIndexVerifier {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${schema.index-check.fail-on-missing}")
+    private boolean failOnMissing;
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void verify() throws SQLException {
+        List<String> missing = findMissingIndexes();
+        if (missing.isEmpty()) {
+            log.info("Schema index check passed");
+            return;
+        }
+        String message = "Indexes declared on entities but missing from the database: " + String.join(", ", missing);
+        if (failOnMissing) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    public List<String> findMissingIndexes() throws SQLException {
+        List<ExpectedIndex> expected = expectedIndexes();
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Map<String, List<ActualIndex>> actualByTable = new HashMap<>();
+            for (ExpectedIndex index : expected) {
+                List<ActualIndex> actual = actualByTable.get(index.table());
+                if (actual == null) {
+                    actual = actualIndexes(connection, metaData, index.table());
+                    actualByTable.put(index.table(), actual);
+                }
+                if (actual.stream().noneMatch(index::isSatisfiedBy)) {
+                    missing.add(index.table() + "." + index.name() + " " + index.columns());
+                }
+            }
+        }
+        return missing;
+    }
+
+    private List<ExpectedIndex> expectedIndexes() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        List<ExpectedIndex> expected = new ArrayList<>();
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            Table table = entity.getJavaType().getAnnotation(Table.class);
+            EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(entity.getJavaType());
+            if (table == null || !(persister instanceof AbstractEntityPersister entityPersister)) {
+                continue;
+            }
+            String tableName = entityPersister.getTableName();
+            for (Index index : table.indexes()) {
+                List<String> columns = Arrays.stream(index.columnList().split(","))
+                        .map(column -> column.trim().split("\\s+")[0])
+                        .toList();
+                expected.add(new ExpectedIndex(tableName, index.name(), columns, false));
+            }
+            for (UniqueConstraint constraint : table.uniqueConstraints()) {
+                expected.add(new ExpectedIndex(tableName, constraint.name(), List.of(constraint.columnNames()), true));
+            }
+        }
+        return expected;
+    }
+
+    private List<ActualIndex> actualIndexes(Connection connection, DatabaseMetaData metaData, String table)
+            throws SQLException {
+        String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Map<String, ActualIndex> indexes = new LinkedHashMap<>();
+        try (ResultSet rows = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), tableName, false, false)) {
+            while (rows.next()) {
+                String name = rows.getString("INDEX_NAME");
+                String column = rows.getString("COLUMN_NAME");
+                if (name == null || column == null) {
+                    continue;
+                }
+                boolean unique = !rows.getBoolean("NON_UNIQUE");
+                indexes.computeIfAbsent(name, n -> new ActualIndex(new TreeMap<>(), unique))
+                        .columns().put(rows.getInt("ORDINAL_POSITION"), column);
+            }
+        }
+        return new ArrayList<>(indexes.values());
+    }
+
+    private record ExpectedIndex(String table, String name, List<String> columns, boolean unique) {
+
+        boolean isSatisfiedBy(ActualIndex actual) {
+            List<String> actualColumns = new ArrayList<>(actual.columns().values());
+            if (unique && (!actual.unique() || actualColumns.size() != columns.size())) {
+                return false;
+            }
+            if (actualColumns.size() < columns.size()) {
+                return false;
+            }
+            for (int i = 0; i < columns.size(); i++) {
+                if (!actualColumns.get(i).equalsIgnoreCase(columns.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private record ActualIndex(SortedMap<Integer, String> columns, boolean unique) {
+    }
+}
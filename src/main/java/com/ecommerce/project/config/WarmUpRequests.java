@@ -0,0 +1,21 @@
+package com.ecommerce.project.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.UUID;
+
+// Marks the requests WarmUpRunner replays against the local server, so DbTimingFilter, AccessLogFilter
+// and http.server.requests leave them out and every deploy does not skew the route histograms. The
+// header carries a token drawn once per JVM, so an outside client cannot hide its requests by sending it.
+final class WarmUpRequests {
+
+    static final String HEADER = "X-Warm-Up";
+    static final String TOKEN = UUID.randomUUID().toString();
+
+    private WarmUpRequests() {
+    }
+
+    static boolean isWarmUp(HttpServletRequest request) {
+        return TOKEN.equals(request.getHeader(HEADER));
+    }
+}
@@ -0,0 +1,248 @@
+package com.ecommerce.project.config;
+
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Warms the instance up before it takes traffic. Runners finish before Spring Boot publishes
+// ApplicationReadyEvent, and only then does the readiness probe (/actuator/health/readiness) switch to
+// ACCEPTING_TRAFFIC, so this runs while the load balancer still keeps requests away. It opens the pool's
+// minimum idle connections, loads categories and the first products into the second-level cache and
+// replays the public catalog requests against the local server until the rounds or the time budget run
+// out, so the request path is JIT-compiled and the catalog response cache filled. The replayed requests
+// are marked (WarmUpRequests) and kept out of the request metrics and the access log. Failures are
+// logged and counted; they never stop the application. Reported as warmup.* metrics.
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpRunner implements ApplicationRunner {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${warmup.rounds}")
+    private int rounds;
+
+    @Value("${warmup.max-duration-ms}")
+    private long maxDurationMs;
+
+    @Value("${warmup.catalog-products}")
+    private int catalogProducts;
+
+    @Value("${warmup.categories}")
+    private int categoryLimit;
+
+    private final AtomicLong poolConnections = new AtomicLong();
+    private final AtomicLong categoriesLoaded = new AtomicLong();
+    private final AtomicLong productsLoaded = new AtomicLong();
+    private final AtomicLong endpointsTotal = new AtomicLong();
+    private final AtomicLong endpointsCovered = new AtomicLong();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Gauge.builder("warmup.pool.connections", poolConnections, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("warmup.catalog.loaded", categoriesLoaded, AtomicLong::get).tag("type", "category").register(meterRegistry);
+        Gauge.builder("warmup.catalog.loaded", productsLoaded, AtomicLong::get).tag("type", "product").register(meterRegistry);
+        Gauge.builder("warmup.endpoints", endpointsTotal, AtomicLong::get).tag("state", "total").register(meterRegistry);
+        Gauge.builder("warmup.endpoints", endpointsCovered, AtomicLong::get).tag("state", "covered").register(meterRegistry);
+
+        long start = System.nanoTime();
+        long deadline = start + Duration.ofMillis(maxDurationMs).toNanos();
+        try {
+            fillPool();
+            replayRequests(loadCatalog(), deadline);
+        } catch (RuntimeException e) {
+            log.warn("Warm-up stopped early", e);
+        }
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("warmup.duration").register(meterRegistry).record(Duration.ofNanos(elapsed));
+        log.info("Warm-up finished in {} ms: {} pool connections, {} categories and {} products cached, {}/{} endpoints",
+                elapsed / 1_000_000, poolConnections.get(), categoriesLoaded.get(), productsLoaded.get(),
+                endpointsCovered.get(), endpointsTotal.get());
+    }
+
+    // holding minimumIdle connections at once makes Hikari open them now instead of on the first requests
+    private void fillPool() {
+        int target;
+        try {
+            target = dataSource.unwrap(HikariDataSource.class).getMinimumIdle();
+        } catch (SQLException e) {
+            target = 1;
+        }
+        List<Connection> held = new ArrayList<>();
+        try {
+            for (int i = 0; i < target; i++) {
+                held.add(dataSource.getConnection());
+            }
+        } catch (SQLException e) {
+            log.warn("Warm-up opened only {} of {} pool connections", held.size(), target, e);
+        } finally {
+            poolConnections.set(held.size());
+            for (Connection connection : held) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Closing warm-up connection failed", e);
+                }
+            }
+        }
+    }
+
+    // rows read through the repositories are put into the catalog.category / catalog.product regions
+    private CatalogSample loadCatalog() {
+        List<Category> categories = categoryRepository.findAll(Sort.by("categoryId"));
+        categoriesLoaded.set(categories.size());
+        Page<Product> products = productRepository.findAll(PageRequest.of(0, catalogProducts, Sort.by("productId")));
+        productsLoaded.set(products.getNumberOfElements());
+        // a word from a real product name, so the keyword searches find something
+        String keyword = products.stream()
+                .map(Product::getProductName)
+                .filter(name -> name != null && !name.isBlank())
+                .map(name -> name.strip().split("\\s+")[0])
+                .findFirst()
+                .orElse(null);
+        List<Long> categoryIds = categories.stream()
+                .limit(categoryLimit)
+                .map(Category::getCategoryId)
+                .toList();
+        return new CatalogSample(categoryIds, categories.size(), products.getTotalElements(), keyword);
+    }
+
+    private void replayRequests(CatalogSample catalog, long deadline) {
+        if (!(applicationContext instanceof WebServerApplicationContext webContext) || webContext.getWebServer() == null) {
+            return;
+        }
+        String baseUrl = "http://localhost:" + webContext.getWebServer().getPort() + "/api/public";
+        int pageSize = Integer.parseInt(AppConstants.PAGE_SIZE);
+
+        // endpoint -> request paths. Empty pages are answered with an error, so only pages that exist are
+        // requested. After the first request, pages up to catalog.response-cache.max-page (2) come from the
+        // response cache; pages 3 and 4 keep the service, mapping and query path busy.
+        Map<String, List<String>> endpoints = new LinkedHashMap<>();
+        List<String> categoryPaths = new ArrayList<>();
+        if (catalog.categoryCount() > 0) {
+            categoryPaths.add("/categories");
+            categoryPaths.add("/categories?sortOrder=desc");
+        }
+        endpoints.put("/public/categories", categoryPaths);
+
+        List<String> productPaths = new ArrayList<>();
+        List<String> keywordPaths = new ArrayList<>();
+        if (catalog.productCount() > 0) {
+            productPaths.add("/products");
+            productPaths.add("/products?sortBy=price&sortOrder=desc");
+            if (catalog.productCount() > pageSize) {
+                productPaths.add("/products?pageNumber=1");
+            }
+            if (catalog.productCount() > 3L * pageSize) {
+                productPaths.add("/products?pageNumber=3&sortBy=price");
+            }
+            if (catalog.productCount() > 4L * pageSize) {
+                productPaths.add("/products?pageNumber=4&sortBy=productName&sortOrder=desc");
+            }
+            if (catalog.keyword() != null) {
+                String keyword = URLEncoder.encode(catalog.keyword(), StandardCharsets.UTF_8);
+                productPaths.add("/products?keyword=" + keyword);
+                keywordPaths.add("/products/keyword/" + keyword);
+            }
+        }
+        endpoints.put("/public/products", productPaths);
+        endpoints.put("/public/products/keyword/{keyword}", keywordPaths);
+        // categories without products answer with an error and are simply counted as such
+        endpoints.put("/public/categories/{categoryId}/products", catalog.categoryIds().stream()
+                .flatMap(id -> Stream.of("/categories/" + id + "/products",
+                        "/categories/" + id + "/products?sortBy=price&sortOrder=desc"))
+                .toList());
+        endpoints.put("/public/catalog/changes", List.of("/catalog/changes?since=0"));
+        endpoints.values().removeIf(List::isEmpty);
+        endpointsTotal.set(endpoints.size());
+
+        // closing the client stops its selector thread, which would otherwise outlive the warm-up
+        try (HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build()) {
+            Set<String> covered = new HashSet<>();
+            for (int round = 0; round < rounds && System.nanoTime() < deadline; round++) {
+                for (Map.Entry<String, List<String>> endpoint : endpoints.entrySet()) {
+                    for (String path : endpoint.getValue()) {
+                        if (System.nanoTime() >= deadline) {
+                            break;
+                        }
+                        if (send(client, baseUrl + path, round % 2 == 0, endpoint.getKey())) {
+                            covered.add(endpoint.getKey());
+                        }
+                    }
+                }
+                endpointsCovered.set(covered.size());
+            }
+        }
+    }
+
+    private boolean send(HttpClient client, String url, boolean gzip, String endpoint) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(5))
+                .header(WarmUpRequests.HEADER, WarmUpRequests.TOKEN)
+                .GET();
+        if (gzip) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        boolean success;
+        try {
+            success = client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+        } catch (IOException e) {
+            success = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Warm-up interrupted", e);
+        }
+        meterRegistry.counter("warmup.requests", "endpoint", endpoint, "outcome", success ? "success" : "error").increment();
+        return success;
+    }
+
+    private record CatalogSample(List<Long> categoryIds, long categoryCount, long productCount, String keyword) {
+    }
+}
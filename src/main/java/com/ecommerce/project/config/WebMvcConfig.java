@@ -1,13 +1,50 @@
 package com.ecommerce.project.config;
 
+import com.ecommerce.project.service.CatalogChangeService;
+import com.ecommerce.project.util.CatalogResponseCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private CatalogChangeService catalogChangeService;
+
+    @Autowired
+    private CatalogResponseCache catalogResponseCache;
+
+    @Value("${catalog.http.cache-control.products}")
+    private String productsCacheControl;
+
+    @Value("${catalog.http.cache-control.categories}")
+    private String categoriesCacheControl;
+
+    @Value("${catalog.http.cache-control.changes}")
+    private String changesCacheControl;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         registry.addResourceHandler("/images/**").addResourceLocations("file:images/");
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // product pages carry stock, so their version also follows (throttled) stock-only changes
+        registry.addInterceptor(new CatalogETagInterceptor(catalogChangeService::currentProductsVersion, productsCacheControl))
+                .addPathPatterns("/api/public/products", "/api/public/products/**",
+                        "/api/public/categories/*/products");
+        registry.addInterceptor(new CatalogETagInterceptor(catalogChangeService::currentVersion, categoriesCacheControl))
+                .addPathPatterns("/api/public/categories");
+        // the delta feed also moves on stock-only changes
+        registry.addInterceptor(new CatalogETagInterceptor(catalogChangeService::currentChangeVersion, changesCacheControl))
+                .addPathPatterns("/api/public/catalog/changes");
+        // after the ETag check, so a revalidation is answered with 304 before the cache is consulted
+        registry.addInterceptor(catalogResponseCache)
+                .addPathPatterns("/api/public/products", "/api/public/categories/*/products");
+    }
 }
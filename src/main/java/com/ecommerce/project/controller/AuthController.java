@@ -14,6 +14,7 @@ import com.ecommerce.project.security.response.MessageResponse;
 import com.ecommerce.project.security.response.UserInfoResponse;
 import com.ecommerce.project.security.services.UserDetailsImpl;
 import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -30,6 +31,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.*;
 import java.util.stream.Collectors;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
@@ -164,6 +166,6 @@ public class AuthController {
     @GetMapping("/debug/auth")
     public void debugAuth() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        System.out.println("Authorities = " + auth.getAuthorities());
+        log.debug("Authorities = {}", auth.getAuthorities());
     }
 }
@@ -0,0 +1,29 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.payload.CatalogChangesResponse;
+import com.ecommerce.project.service.CatalogChangeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api")
+public class CatalogController {
+
+    @Autowired
+    private CatalogChangeService catalogChangeService;
+
+    // clients keep the returned version and pass it back as since; hasMore means call again
+    @GetMapping("/public/catalog/changes")
+    public ResponseEntity<CatalogChangesResponse> getCatalogChanges(
+            @RequestParam(name = "since", defaultValue = "0", required = false) Long since,
+            @RequestParam(name = "limit", defaultValue = AppConstants.CATALOG_CHANGES_LIMIT, required = false) Integer limit) {
+        CatalogChangesResponse response = catalogChangeService.getChanges(since, limit);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+}
@@ -1,18 +1,26 @@
 package com.ecommerce.project.controller;
 
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.model.User;
 import com.ecommerce.project.payload.*;
 import com.ecommerce.project.service.LinePayService;
+import com.ecommerce.project.service.OrderExportService;
 import com.ecommerce.project.service.OrderService;
 import com.ecommerce.project.service.StripeService;
 import com.ecommerce.project.util.AuthUtil;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -31,6 +39,9 @@ public class OrderController {
     @Autowired
     private LinePayService linePayService;
 
+    @Autowired
+    private OrderExportService orderExportService;
+
     @GetMapping("/users/orders")
     public ResponseEntity<List<OrderDTO>> getUserOrders() {
         User user = authUtil.loggedInUser();
@@ -94,4 +105,29 @@ public class OrderController {
         return new ResponseEntity<>(order, HttpStatus.CREATED);
     }
 
-}
\ No newline at end of file
+    @GetMapping("/admin/orders/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(name = "format", defaultValue = OrderExportService.FORMAT_CSV, required = false) String format,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "status", required = false) String status
+    ) {
+        if (!OrderExportService.FORMAT_CSV.equals(format) && !OrderExportService.FORMAT_NDJSON.equals(format)) {
+            throw new APIException("Unsupported export format: " + format);
+        }
+        LocalDate fromDate = from != null ? from : LocalDate.now().minusDays(AppConstants.REPORT_DEFAULT_DAYS);
+        LocalDate toDate = to != null ? to : LocalDate.now();
+
+        StreamingResponseBody body = out -> orderExportService.exportOrders(fromDate, toDate, status, format, out);
+        MediaType contentType = OrderExportService.FORMAT_CSV.equals(format)
+                ? new MediaType("text", "csv")
+                : new MediaType("application", "x-ndjson");
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"orders-" + fromDate + "-" + toDate + "." + format + "\"")
+                .body(body);
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.payload.DailySalesReportDTO;
+import com.ecommerce.project.payload.SalesReportDTO;
+import com.ecommerce.project.service.ReportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/reports")
+public class ReportController {
+
+    @Autowired
+    private ReportService reportService;
+
+    @GetMapping("/sales/daily")
+    public ResponseEntity<List<DailySalesReportDTO>> getDailySales(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<DailySalesReportDTO> report = reportService.getDailySales(fromOrDefault(from), toOrDefault(to));
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    @GetMapping("/sales/products")
+    public ResponseEntity<List<SalesReportDTO>> getProductSales(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "limit", defaultValue = AppConstants.REPORT_LIMIT, required = false) Integer limit) {
+        List<SalesReportDTO> report = reportService.getProductSales(fromOrDefault(from), toOrDefault(to), limit);
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    @GetMapping("/sales/categories")
+    public ResponseEntity<List<SalesReportDTO>> getCategorySales(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "limit", defaultValue = AppConstants.REPORT_LIMIT, required = false) Integer limit) {
+        List<SalesReportDTO> report = reportService.getCategorySales(fromOrDefault(from), toOrDefault(to), limit);
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    @GetMapping("/sales/sellers")
+    public ResponseEntity<List<SalesReportDTO>> getSellerSales(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "limit", defaultValue = AppConstants.REPORT_LIMIT, required = false) Integer limit) {
+        List<SalesReportDTO> report = reportService.getSellerSales(fromOrDefault(from), toOrDefault(to), limit);
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    private LocalDate fromOrDefault(LocalDate from) {
+        return from != null ? from : LocalDate.now().minusDays(AppConstants.REPORT_DEFAULT_DAYS);
+    }
+
+    private LocalDate toOrDefault(LocalDate to) {
+        return to != null ? to : LocalDate.now();
+    }
+}
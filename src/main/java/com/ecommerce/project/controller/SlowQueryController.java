@@ -0,0 +1,31 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.payload.SlowQueryDTO;
+import com.ecommerce.project.service.SlowQueryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/slow-queries")
+public class SlowQueryController {
+
+    @Autowired
+    private SlowQueryService slowQueryService;
+
+    @GetMapping
+    public ResponseEntity<List<SlowQueryDTO>> getSlowQueries(
+            @RequestParam(name = "limit", defaultValue = AppConstants.SLOW_QUERY_LIMIT, required = false) Integer limit) {
+        return new ResponseEntity<>(slowQueryService.getSlowQueries(limit), HttpStatus.OK);
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> resetSlowQueries() {
+        slowQueryService.reset();
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
@@ -0,0 +1,91 @@
+package com.ecommerce.project.jobs;
+
+import com.ecommerce.project.repositories.CartItemRepository;
+import com.ecommerce.project.repositories.CartRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Deletes carts (and their items) that have not been touched for cart.sweeper.ttl-days.
+// Carts are walked in cartId order (keyset), one short transaction per chunk, with a pause
+// between chunks so the sweep never holds locks on carts/cart_items for long.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cart.sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class AbandonedCartSweeper {
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cart.sweeper.ttl-days}")
+    private int ttlDays;
+
+    @Value("${cart.sweeper.batch-size}")
+    private int batchSize;
+
+    @Value("${cart.sweeper.pause-ms}")
+    private long pauseMs;
+
+    @Scheduled(cron = "${cart.sweeper.cron}")
+    public void sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(ttlDays);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Counter cartsSwept = meterRegistry.counter("cart.sweeper.rows", "table", "carts");
+        Counter itemsSwept = meterRegistry.counter("cart.sweeper.rows", "table", "cart_items");
+        Timer chunkTimer = meterRegistry.timer("cart.sweeper.chunk");
+
+        long lastCartId = 0L;
+        long totalCarts = 0L;
+        long totalItems = 0L;
+
+        while (true) {
+            List<Long> cartIds = cartRepository.findIdleCartIds(lastCartId, cutoff, PageRequest.of(0, batchSize));
+            if (cartIds.isEmpty()) {
+                break;
+            }
+            lastCartId = cartIds.get(cartIds.size() - 1);
+
+            int[] swept = chunkTimer.record(() -> transactionTemplate.execute(status -> new int[]{
+                    cartItemRepository.deleteAllByIdleCartIds(cartIds, cutoff),
+                    cartRepository.deleteIdleCarts(cartIds, cutoff)
+            }));
+            itemsSwept.increment(swept[0]);
+            cartsSwept.increment(swept[1]);
+            totalItems += swept[0];
+            totalCarts += swept[1];
+
+            if (cartIds.size() < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(pauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        log.info("Abandoned cart sweep done: {} carts, {} cart items idle since {}", totalCarts, totalItems, cutoff);
+    }
+}
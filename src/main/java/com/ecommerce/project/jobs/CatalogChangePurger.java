@@ -0,0 +1,63 @@
+package com.ecommerce.project.jobs;
+
+import com.ecommerce.project.repositories.CatalogChangeRepository;
+import com.ecommerce.project.repositories.CatalogVersionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Trims the catalog change log. Each chunk raises the purge watermark in the same transaction,
+// and clients whose version falls behind it are told to resync from the full product listing.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "catalog.changes.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class CatalogChangePurger {
+
+    @Autowired
+    private CatalogChangeRepository catalogChangeRepository;
+
+    @Autowired
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${catalog.changes.retention-days}")
+    private long retentionDays;
+
+    @Value("${catalog.changes.purge.batch-size}")
+    private int batchSize;
+
+    @Scheduled(cron = "${catalog.changes.purge.cron}")
+    public void purgeOldChanges() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        long totalDeleted = 0L;
+        List<Long> changeIds;
+        do {
+            changeIds = catalogChangeRepository.findChangedBefore(cutoff, PageRequest.of(0, batchSize));
+            List<Long> chunk = changeIds;
+            if (!chunk.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    catalogVersionRepository.raisePurgedVersion(catalogChangeRepository.findMaxChangeVersion(chunk));
+                    catalogChangeRepository.deleteByChangeIds(chunk);
+                });
+                totalDeleted += chunk.size();
+            }
+        } while (changeIds.size() == batchSize);
+
+        if (totalDeleted > 0) {
+            log.info("Purged {} catalog changes older than {}", totalDeleted, cutoff);
+        }
+    }
+}
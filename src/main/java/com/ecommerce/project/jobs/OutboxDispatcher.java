@@ -0,0 +1,121 @@
+package com.ecommerce.project.jobs;
+
+import com.ecommerce.project.model.OutboxEvent;
+import com.ecommerce.project.repositories.OutboxEventRepository;
+import com.ecommerce.project.service.OutboxEventSubscriber;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Polls outbox_events in id order and hands each event to the subscribers that support it.
+// Events are acked in one UPDATE per batch once all subscribers succeeded; a failing event
+// keeps processed_at null and gets next_attempt_at with exponential backoff, so it is skipped by
+// the rest of this run and retried on a later poll until outbox.dispatcher.max-attempts.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxDispatcher {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired(required = false)
+    private List<OutboxEventSubscriber> subscribers = List.of();
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${outbox.dispatcher.batch-size}")
+    private int batchSize;
+
+    @Value("${outbox.dispatcher.max-attempts}")
+    private int maxAttempts;
+
+    @Value("${outbox.dispatcher.initial-backoff-ms}")
+    private long initialBackoffMs;
+
+    @Value("${outbox.dispatcher.max-backoff-ms}")
+    private long maxBackoffMs;
+
+    @Value("${outbox.retention-hours}")
+    private long retentionHours;
+
+    @Scheduled(fixedDelayString = "${outbox.dispatcher.interval-ms}")
+    public void dispatch() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Counter delivered = meterRegistry.counter("outbox.events", "result", "delivered");
+        Counter failed = meterRegistry.counter("outbox.events", "result", "failed");
+
+        List<OutboxEvent> events;
+        List<Long> acked;
+        do {
+            events = outboxEventRepository.findPendingEvents(maxAttempts, LocalDateTime.now(),
+                    PageRequest.of(0, batchSize));
+            acked = new ArrayList<>(events.size());
+
+            for (OutboxEvent event : events) {
+                try {
+                    for (OutboxEventSubscriber subscriber : subscribers) {
+                        if (subscriber.supports(event.getEventType())) {
+                            subscriber.handle(event);
+                        }
+                    }
+                    acked.add(event.getEventId());
+                } catch (RuntimeException e) {
+                    log.warn("Outbox event {} ({}) failed on attempt {}: {}", event.getEventId(),
+                            event.getEventType(), event.getAttempts() + 1, e.getMessage());
+                    String error = String.valueOf(e.getMessage());
+                    LocalDateTime nextAttemptAt =
+                            LocalDateTime.now().plus(Duration.ofMillis(backoffMs(event.getAttempts())));
+                    transactionTemplate.executeWithoutResult(status -> outboxEventRepository.recordFailure(
+                            event.getEventId(), error.substring(0, Math.min(error.length(), 500)), nextAttemptAt));
+                    failed.increment();
+                }
+            }
+
+            if (!acked.isEmpty()) {
+                List<Long> batch = acked;
+                transactionTemplate.executeWithoutResult(status ->
+                        outboxEventRepository.markProcessed(batch, LocalDateTime.now()));
+                delivered.increment(acked.size());
+            }
+            // a full batch of failures is left for the next poll instead of spinning on it
+        } while (events.size() == batchSize && !acked.isEmpty());
+    }
+
+    // initial-backoff-ms doubled for every earlier failure, capped at max-backoff-ms
+    long backoffMs(int previousAttempts) {
+        return Math.min(maxBackoffMs, initialBackoffMs << Math.min(previousAttempts, 30));
+    }
+
+    @Scheduled(cron = "${outbox.purge.cron}")
+    public void purgeProcessed() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        List<Long> eventIds;
+        do {
+            eventIds = outboxEventRepository.findProcessedBefore(cutoff, PageRequest.of(0, batchSize));
+            List<Long> chunk = eventIds;
+            if (!chunk.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deleteByEventIds(chunk));
+            }
+        } while (eventIds.size() == batchSize);
+    }
+}
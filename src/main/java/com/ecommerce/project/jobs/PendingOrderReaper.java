@@ -0,0 +1,84 @@
+package com.ecommerce.project.jobs;
+
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.repositories.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Moves LINE Pay orders left in PENDING (user never came back from the redirect) to EXPIRED.
+// Expired rows leave the pending index range, so each chunk simply takes the next batch.
+// Stock is only decremented when the order is placed, so a pending order holds no stock to release.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.reaper.enabled", havingValue = "true", matchIfMissing = true)
+public class PendingOrderReaper {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${order.reaper.pending-ttl-minutes}")
+    private long pendingTtlMinutes;
+
+    @Value("${order.reaper.batch-size}")
+    private int batchSize;
+
+    @Value("${order.reaper.pause-ms}")
+    private long pauseMs;
+
+    @Scheduled(fixedDelayString = "${order.reaper.interval-ms}", initialDelayString = "${order.reaper.interval-ms}")
+    public void expireStalePendingOrders() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(pendingTtlMinutes);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Counter expiredCounter = meterRegistry.counter("order.reaper.expired");
+        Timer chunkTimer = meterRegistry.timer("order.reaper.chunk");
+
+        long totalExpired = 0L;
+
+        while (true) {
+            List<Long> orderIds = orderRepository.findStaleOrderIds(AppConstants.ORDER_STATUS_PENDING,
+                    cutoff.toLocalDate(), cutoff, PageRequest.of(0, batchSize));
+            if (orderIds.isEmpty()) {
+                break;
+            }
+
+            Integer expired = chunkTimer.record(() -> transactionTemplate.execute(status ->
+                    orderRepository.updateOrderStatus(orderIds,
+                            AppConstants.ORDER_STATUS_PENDING, AppConstants.ORDER_STATUS_EXPIRED)));
+            expiredCounter.increment(expired);
+            totalExpired += expired;
+
+            if (orderIds.size() < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(pauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (totalExpired > 0) {
+            log.info("Expired {} pending orders created before {}", totalExpired, cutoff);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.project.mapper;
+
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.payload.CartDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = CentralMapperConfig.class)
+public interface CartMapper {
+
+    // products carry the per-line quantity, so callers fill them from the cart items
+    @Mapping(target = "products", ignore = true)
+    CartDTO toCartDTO(Cart cart);
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.project.mapper;
+
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.payload.CategoryDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = CentralMapperConfig.class)
+public interface CategoryMapper {
+
+    CategoryDTO toCategoryDTO(Category category);
+
+    @Mapping(target = "products", ignore = true)
+    Category toCategory(CategoryDTO categoryDTO);
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.project.mapper;
+
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+// Every target property must be mapped or explicitly ignored, so a new entity/DTO field
+// fails the build instead of silently coming back null.
+@MapperConfig(componentModel = MappingConstants.ComponentModel.SPRING,
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR,
+        unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface CentralMapperConfig {
+}
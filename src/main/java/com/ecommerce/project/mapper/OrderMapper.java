@@ -0,0 +1,23 @@
+package com.ecommerce.project.mapper;
+
+import com.ecommerce.project.model.Order;
+import com.ecommerce.project.model.OrderItem;
+import com.ecommerce.project.model.Payment;
+import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.payload.OrderItemDTO;
+import com.ecommerce.project.payload.PaymentDTO;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = CentralMapperConfig.class, uses = ProductMapper.class)
+public interface OrderMapper {
+
+    // items are appended by the caller from the list it just saved
+    @Mapping(target = "orderItems", expression = "java(new java.util.ArrayList<>())")
+    @Mapping(target = "addressId", source = "address.addressId")
+    OrderDTO toOrderDTO(Order order);
+
+    OrderItemDTO toOrderItemDTO(OrderItem orderItem);
+
+    PaymentDTO toPaymentDTO(Payment payment);
+}
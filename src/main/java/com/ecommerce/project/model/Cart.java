@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,4 +28,8 @@ public class Cart {
     private List<CartItem> cartItems=new ArrayList<>();
 
     private Double totalPrice=0.0;
+
+    // drives the abandoned-cart sweeper, bumped on every cart update
+    @UpdateTimestamp
+    private LocalDateTime lastModified;
 }
@@ -7,12 +7,14 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Data
-@Table(name="cart_items")
+@Table(name="cart_items", indexes = @Index(
+        name = "idx_cart_items_cart_product", columnList = "cart_id, product_id"))
 @NoArgsConstructor
 @AllArgsConstructor
 public class CartItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_items_seq")
+    @SequenceGenerator(name = "cart_items_seq", sequenceName = "cart_items_seq", allocationSize = 50)
     private Long cartItemId;
 
     @ManyToOne
@@ -0,0 +1,52 @@
+package com.ecommerce.project.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One row per catalog write, stamped with the change version its transaction took from
+// catalog_versions. Ids are assigned at insert time and commit out of order, versions do not,
+// so the delta feed pages by version.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "catalog_changes",
+        indexes = {
+                @Index(name = "idx_catalog_changes_changed_at", columnList = "changed_at"),
+                @Index(name = "idx_catalog_changes_change_version", columnList = "change_version")
+        })
+public class CatalogChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long changeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private CatalogEntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10, nullable = false)
+    private CatalogChangeType changeType;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    @Column(nullable = false)
+    private Long changeVersion;
+
+    public CatalogChange(CatalogEntityType entityType, Long entityId, CatalogChangeType changeType, Long changeVersion) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.changeType = changeType;
+        this.changedAt = LocalDateTime.now();
+        this.changeVersion = changeVersion;
+    }
+}
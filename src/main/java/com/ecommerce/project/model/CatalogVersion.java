@@ -0,0 +1,30 @@
+package com.ecommerce.project.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// The single counter row behind the catalog versions. A writer bumps it in its own transaction
+// and keeps the row lock until commit, so versions become visible in the order they were handed out.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "catalog_versions")
+public class CatalogVersion {
+
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+
+    // every change in the log, stock-only ones included; the delta feed's since/version
+    private long changeVersion;
+
+    // changes that alter catalog content; catalog ETags and cached pages are keyed on it
+    private long catalogVersion;
+
+    // highest change version the purge has deleted; older clients have to resync
+    private long purgedVersion;
+}
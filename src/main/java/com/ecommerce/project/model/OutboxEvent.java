@@ -0,0 +1,62 @@
+package com.ecommerce.project.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.Length;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "outbox_events",
+        indexes = {
+                @Index(name = "idx_outbox_events_pending", columnList = "processed_at, event_id")
+        })
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30, nullable = false)
+    private OutboxEventType eventType;
+
+    @Column(length = 30, nullable = false)
+    private String aggregateType;
+
+    private Long aggregateId;
+
+    // without a length MySQL gets tinytext, which truncates anything over 255 bytes
+    @Lob
+    @Column(nullable = false, length = Length.LONG32)
+    private String payload;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    // null until every subscriber has handled the event
+    private LocalDateTime processedAt;
+
+    private int attempts;
+
+    // null until the first failure; the dispatcher skips the event until then
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    public OutboxEvent(OutboxEventType eventType, String aggregateType, Long aggregateId, String payload) {
+        this.eventType = eventType;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.project.model;
+
+public enum OutboxEventType {
+    ORDER_PLACED,
+    STOCK_ADJUSTED,
+    LINEPAY_CONFIRMED;
+}
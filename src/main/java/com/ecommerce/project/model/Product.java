@@ -7,6 +7,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,8 +17,14 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name="products")
+@Table(name="products", uniqueConstraints = @UniqueConstraint(
+        name = "uk_products_category_name", columnNames = {"category_id", "product_name"}),
+        indexes = {
+                @Index(name = "idx_products_category_price", columnList = "category_id, price"),
+                @Index(name = "idx_products_product_name", columnList = "product_name")
+        })
 @ToString
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog.product")
 public class Product {
 
     @Id
@@ -40,11 +48,13 @@ public class Product {
     @JoinColumn(name = "category_id")
     private Category category;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "seller_id")
     private User user;
 
-    @OneToMany(mappedBy = "product", cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.EAGER)
+    @ToString.Exclude
+    @OneToMany(mappedBy = "product", cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     private List<CartItem> products = new ArrayList<>();
 }
 
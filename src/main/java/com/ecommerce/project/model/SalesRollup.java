@@ -0,0 +1,51 @@
+package com.ecommerce.project.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// One row per (type, day, dimension): dimensionId is the product, category or seller id,
+// and 0 for the DAILY totals. Maintained incrementally from ORDER_PLACED outbox events.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "sales_rollups",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_sales_rollups_type_date_dimension",
+                        columnNames = {"rollup_type", "sales_date", "dimension_id"})
+        })
+public class SalesRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sales_rollups_seq")
+    @SequenceGenerator(name = "sales_rollups_seq", sequenceName = "sales_rollups_seq", allocationSize = 50)
+    private Long rollupId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private SalesRollupType rollupType;
+
+    @Column(nullable = false)
+    private LocalDate salesDate;
+
+    @Column(nullable = false)
+    private Long dimensionId;
+
+    private long orderCount;
+    private long unitsSold;
+    private double revenue;
+
+    public SalesRollup(SalesRollupType rollupType, LocalDate salesDate, Long dimensionId,
+                       long orderCount, long unitsSold, double revenue) {
+        this.rollupType = rollupType;
+        this.salesDate = salesDate;
+        this.dimensionId = dimensionId;
+        this.orderCount = orderCount;
+        this.unitsSold = unitsSold;
+        this.revenue = revenue;
+    }
+}
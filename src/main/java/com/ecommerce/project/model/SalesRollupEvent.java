@@ -0,0 +1,28 @@
+package com.ecommerce.project.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// Outbox events already folded into sales_rollups, so a redelivered event is not counted twice
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "sales_rollup_events")
+public class SalesRollupEvent {
+
+    @Id
+    private Long eventId;
+
+    @CreationTimestamp
+    private LocalDateTime appliedAt;
+
+    public SalesRollupEvent(Long eventId) {
+        this.eventId = eventId;
+    }
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.project.model;
+
+public enum SalesRollupType {
+    DAILY,
+    PRODUCT,
+    CATEGORY,
+    SELLER;
+}
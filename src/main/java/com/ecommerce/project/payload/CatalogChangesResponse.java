@@ -0,0 +1,21 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogChangesResponse {
+    private Long version;
+    private boolean hasMore;
+    private boolean resyncRequired;
+    private List<ProductDTO> products = new ArrayList<>();
+    private List<Long> deletedProductIds = new ArrayList<>();
+    private List<CategoryDTO> categories = new ArrayList<>();
+    private List<Long> deletedCategoryIds = new ArrayList<>();
+}
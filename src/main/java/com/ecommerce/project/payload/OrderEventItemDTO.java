@@ -0,0 +1,16 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEventItemDTO {
+    private Long productId;
+    private Integer quantity;
+    private double unitPrice;
+    private Long categoryId;
+    private Long sellerId;
+}
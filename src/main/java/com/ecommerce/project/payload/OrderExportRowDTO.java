@@ -0,0 +1,25 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderExportRowDTO {
+    private Long orderId;
+    private LocalDate orderDate;
+    private String email;
+    private String orderStatus;
+    private Double totalAmount;
+    private String paymentMethod;
+    private String pgName;
+    private Long productId;
+    private String productName;
+    private Integer quantity;
+    private double unitPrice;
+    private double discount;
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesReportDTO {
+    private Long dimensionId;
+    private Long orderCount;
+    private Long unitsSold;
+    private Double revenue;
+}
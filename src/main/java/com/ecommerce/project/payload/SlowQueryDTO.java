@@ -0,0 +1,23 @@
+package com.ecommerce.project.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowQueryDTO {
+    private String sql;
+    private Long count;
+    private Double totalMs;
+    private Double avgMs;
+    private Double maxMs;
+    private String lastCaller;
+    private List<String> lastParameters;
+    private LocalDateTime lastSeen;
+    private String plan;
+}
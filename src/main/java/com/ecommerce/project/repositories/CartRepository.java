@@ -1,18 +1,32 @@
 package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.Cart;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CartRepository extends JpaRepository<Cart,Long> {
     @Query("SELECT c FROM Cart c WHERE c.user.email = ?1 ")
     Cart findCartByEmail(String email);
 
+    @Query("SELECT DISTINCT c FROM Cart c LEFT JOIN FETCH c.cartItems ci LEFT JOIN FETCH ci.product p " +
+            "LEFT JOIN FETCH p.category WHERE c.user.email = ?1")
+    Cart findCartWithItemsByEmail(String email);
+
     @Query("SELECT c FROM Cart c WHERE c.user.email = ?1 AND c.id = ?2")
     Cart findCartByEmailAndCartId(String emailId, Long cartId);
 
     @Query("SELECT c FROM Cart c JOIN FETCH c.cartItems ci JOIN FETCH ci.product p WHERE p.id = ?1")
     List<Cart> findCartsByProductId(Long productId);
+
+    @Query("SELECT c.cartId FROM Cart c WHERE c.cartId > ?1 AND c.lastModified < ?2 ORDER BY c.cartId")
+    List<Long> findIdleCartIds(Long afterCartId, LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Cart c WHERE c.cartId IN ?1 AND c.lastModified < ?2")
+    int deleteIdleCarts(List<Long> cartIds, LocalDateTime cutoff);
 }
@@ -0,0 +1,48 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.CatalogChange;
+import com.ecommerce.project.model.CatalogChangeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CatalogChangeRepository extends JpaRepository<CatalogChange, Long> {
+
+    @Query("SELECT c FROM CatalogChange c WHERE c.changeVersion > ?1 ORDER BY c.changeVersion, c.changeId")
+    List<CatalogChange> findChangesSince(Long version, Pageable pageable);
+
+    @Query("SELECT c FROM CatalogChange c WHERE c.changeVersion = ?1 ORDER BY c.changeId")
+    List<CatalogChange> findChangesAt(Long version);
+
+    // one INSERT ... SELECT per call, however many products it covers
+    @Modifying
+    @Query("INSERT INTO CatalogChange (entityType, entityId, changeType, changedAt, changeVersion) " +
+            "SELECT com.ecommerce.project.model.CatalogEntityType.PRODUCT, p.productId, ?2, ?3, ?4 " +
+            "FROM Product p WHERE p.productId IN ?1")
+    int insertProductChanges(Collection<Long> productIds, CatalogChangeType changeType, LocalDateTime changedAt,
+                             Long changeVersion);
+
+    @Modifying
+    @Query("INSERT INTO CatalogChange (entityType, entityId, changeType, changedAt, changeVersion) " +
+            "SELECT com.ecommerce.project.model.CatalogEntityType.PRODUCT, p.productId, ?2, ?3, ?4 " +
+            "FROM Product p WHERE p.category.categoryId = ?1")
+    int insertCategoryProductChanges(Long categoryId, CatalogChangeType changeType, LocalDateTime changedAt,
+                                     Long changeVersion);
+
+    @Query("SELECT c.changeId FROM CatalogChange c WHERE c.changedAt < ?1 ORDER BY c.changeId")
+    List<Long> findChangedBefore(LocalDateTime cutoff, Pageable pageable);
+
+    @Query("SELECT MAX(c.changeVersion) FROM CatalogChange c WHERE c.changeId IN ?1")
+    Long findMaxChangeVersion(List<Long> changeIds);
+
+    @Modifying
+    @Query("DELETE FROM CatalogChange c WHERE c.changeId IN ?1")
+    int deleteByChangeIds(List<Long> changeIds);
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+// Scalar reads only: an entity loaded into a long-lived persistence context would not see later commits
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Long> {
+
+    @Modifying
+    @Query("UPDATE CatalogVersion v SET v.changeVersion = v.changeVersion + 1, " +
+            "v.catalogVersion = v.catalogVersion + 1 WHERE v.id = 1")
+    int incrementCatalogVersion();
+
+    @Modifying
+    @Query("UPDATE CatalogVersion v SET v.changeVersion = v.changeVersion + 1 WHERE v.id = 1")
+    int incrementChangeVersion();
+
+    @Query("SELECT v.changeVersion FROM CatalogVersion v WHERE v.id = 1")
+    long findChangeVersion();
+
+    @Query("SELECT v.catalogVersion FROM CatalogVersion v WHERE v.id = 1")
+    long findCatalogVersion();
+
+    @Query("SELECT v.purgedVersion FROM CatalogVersion v WHERE v.id = 1")
+    long findPurgedVersion();
+
+    @Modifying
+    @Query("UPDATE CatalogVersion v SET v.purgedVersion = ?1 WHERE v.id = 1 AND v.purgedVersion < ?1")
+    int raisePurgedVersion(long purgedVersion);
+}
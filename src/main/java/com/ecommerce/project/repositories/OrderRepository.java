@@ -1,16 +1,35 @@
 package com.ecommerce.project.repositories;
 
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.ecommerce.project.model.Order;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByEmailOrderByOrderIdDesc(String email);
+
+    // order history with items, products and the eager to-one associations in a single statement
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.orderItems oi LEFT JOIN FETCH oi.product p " +
+            "LEFT JOIN FETCH p.category LEFT JOIN FETCH o.address LEFT JOIN FETCH o.payment " +
+            "WHERE o.email = ?1 AND o.orderStatus <> ?2 ORDER BY o.orderId DESC")
+    List<Order> findOrdersWithItemsByEmail(String email, String excludedStatus);
     Optional<Order> findByOrderIdAndEmail(Long orderId, String email);
+
+    // served by idx_orders_status_date (order_status, order_date, created_at)
+    @Query("SELECT o.orderId FROM Order o WHERE o.orderStatus = ?1 AND o.orderDate <= ?2 AND o.createdAt < ?3")
+    List<Long> findStaleOrderIds(String orderStatus, LocalDate cutoffDate, LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.orderStatus = ?3 WHERE o.orderId IN ?1 AND o.orderStatus = ?2")
+    int updateOrderStatus(List<Long> orderIds, String fromStatus, String toStatus);
 }
\ No newline at end of file
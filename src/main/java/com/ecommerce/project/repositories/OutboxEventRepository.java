@@ -0,0 +1,35 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("SELECT e FROM OutboxEvent e WHERE e.processedAt IS NULL AND e.attempts < ?1"
+            + " AND (e.nextAttemptAt IS NULL OR e.nextAttemptAt <= ?2) ORDER BY e.eventId")
+    List<OutboxEvent> findPendingEvents(int maxAttempts, LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.processedAt = ?2 WHERE e.eventId IN ?1")
+    int markProcessed(List<Long> eventIds, LocalDateTime processedAt);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = ?2, e.nextAttemptAt = ?3"
+            + " WHERE e.eventId = ?1")
+    int recordFailure(Long eventId, String lastError, LocalDateTime nextAttemptAt);
+
+    @Query("SELECT e.eventId FROM OutboxEvent e WHERE e.processedAt < ?1 ORDER BY e.eventId")
+    List<Long> findProcessedBefore(LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.eventId IN ?1")
+    int deleteByEventIds(List<Long> eventIds);
+}
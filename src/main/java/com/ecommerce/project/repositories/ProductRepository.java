@@ -4,12 +4,34 @@ import com.ecommerce.project.model.Category;
 import com.ecommerce.project.model.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product,Long>, JpaSpecificationExecutor<Product> {
+public interface ProductRepository extends JpaRepository<Product,Long>, JpaSpecificationExecutor<Product>,
+        ProductStockRepository {
+    // product pages join their (eager) category instead of loading each one separately
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Page<Product> findAll(Specification<Product> spec, Pageable pageable);
+
+    @EntityGraph(attributePaths = "category")
     Page<Product> findByCategoryOrderByPriceAsc(Category category, Pageable pageDetails);
+
+    @EntityGraph(attributePaths = "category")
     Page<Product> findByProductNameLikeIgnoreCase(String keyword, Pageable pageDetails);
+
+    // the derived query joined categories and filtered on categories.category_id, which kept the
+    // (category_id, product_name) unique index out of the plan; this filters on the FK column
+    @Query("SELECT COUNT(p) > 0 FROM Product p WHERE p.category.categoryId = ?1 AND p.productName = ?2")
+    boolean existsByCategoryCategoryIdAndProductName(Long categoryId, String productName);
+
+    @Query("SELECT p.productName FROM Product p WHERE p.category.categoryId = ?1")
+    List<String> findProductNamesByCategoryId(Long categoryId);
 }
@@ -0,0 +1,12 @@
+package com.ecommerce.project.repositories;
+
+import java.util.Map;
+
+// Stock writes that must not go through the Product entity: its quantity may come from the
+// second-level cache, and writing it back would overwrite sales made elsewhere
+public interface ProductStockRepository {
+
+    // Decrements each product by its quantity, but only while that much stock is left. Returns the
+    // stock left afterwards by product id; a product that was short is unchanged and not in the result.
+    Map<Long, Integer> decrementStock(Map<Long, Integer> quantities);
+}
@@ -0,0 +1,81 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+
+// One JDBC batch of conditional UPDATEs on the caller's connection, then one read of what is left.
+// The cached Product rows are evicted once the transaction commits.
+public class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public Map<Long, Integer> decrementStock(Map<Long, Integer> quantities) {
+        // id order, so concurrent checkouts lock the products they share in the same order
+        List<Map.Entry<Long, Integer>> rows = new ArrayList<>(new TreeMap<>(quantities).entrySet());
+        int[] updated = jdbcTemplate.batchUpdate(
+                "UPDATE products SET quantity = quantity - ? WHERE product_id = ? AND quantity >= ?",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setInt(1, rows.get(i).getValue());
+                        ps.setLong(2, rows.get(i).getKey());
+                        ps.setInt(3, rows.get(i).getValue());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                });
+
+        List<Long> decremented = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (updated[i] != 0) {
+                decremented.add(rows.get(i).getKey());
+            }
+        }
+        if (decremented.isEmpty()) {
+            return Map.of();
+        }
+        evictAfterCommit(decremented);
+
+        Map<Long, Integer> remaining = new HashMap<>();
+        namedParameterJdbcTemplate.query("SELECT product_id, quantity FROM products WHERE product_id IN (:ids)",
+                Map.of("ids", decremented),
+                rs -> {
+                    remaining.put(rs.getLong("product_id"), rs.getInt("quantity"));
+                });
+        return remaining;
+    }
+
+    private void evictAfterCommit(List<Long> productIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            productIds.forEach(id -> entityManagerFactory.getCache().evict(Product.class, id));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                productIds.forEach(id -> entityManagerFactory.getCache().evict(Product.class, id));
+            }
+        });
+    }
+}
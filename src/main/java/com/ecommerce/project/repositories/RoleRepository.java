@@ -2,10 +2,18 @@ package com.ecommerce.project.repositories;
 
 import com.ecommerce.project.model.AppRole;
 import com.ecommerce.project.model.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role,Long> {
+    // signup resolves up to three roles by name; the ids are cached in query.roles, the rows in auth.role
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "query.roles")
+    })
     Optional<Role> findByRoleName(AppRole appRole);
 }
@@ -0,0 +1,34 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.model.SalesRollup;
+import com.ecommerce.project.model.SalesRollupType;
+import com.ecommerce.project.payload.DailySalesReportDTO;
+import com.ecommerce.project.payload.SalesReportDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long> {
+
+    @Modifying
+    @Query("UPDATE SalesRollup r SET r.orderCount = r.orderCount + ?4, r.unitsSold = r.unitsSold + ?5, " +
+            "r.revenue = r.revenue + ?6 WHERE r.rollupType = ?1 AND r.salesDate = ?2 AND r.dimensionId = ?3")
+    int increment(SalesRollupType rollupType, LocalDate salesDate, Long dimensionId,
+                  long orderCount, long unitsSold, double revenue);
+
+    @Query("SELECT new com.ecommerce.project.payload.DailySalesReportDTO(r.salesDate, r.orderCount, r.unitsSold, r.revenue) " +
+            "FROM SalesRollup r WHERE r.rollupType = com.ecommerce.project.model.SalesRollupType.DAILY " +
+            "AND r.salesDate BETWEEN ?1 AND ?2 ORDER BY r.salesDate")
+    List<DailySalesReportDTO> findDailySales(LocalDate from, LocalDate to);
+
+    @Query("SELECT new com.ecommerce.project.payload.SalesReportDTO(r.dimensionId, SUM(r.orderCount), SUM(r.unitsSold), SUM(r.revenue)) " +
+            "FROM SalesRollup r WHERE r.rollupType = ?1 AND r.salesDate BETWEEN ?2 AND ?3 " +
+            "GROUP BY r.dimensionId ORDER BY SUM(r.revenue) DESC")
+    List<SalesReportDTO> findSalesByDimension(SalesRollupType rollupType, LocalDate from, LocalDate to, Pageable pageable);
+}
@@ -5,8 +5,11 @@ import com.ecommerce.project.model.Role;
 import com.ecommerce.project.model.User;
 import com.ecommerce.project.repositories.RoleRepository;
 import com.ecommerce.project.repositories.UserRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -33,6 +36,7 @@ import com.ecommerce.project.security.services.UserDetailsServiceImpl;
 
 import java.util.Set;
 
+@Slf4j
 @Configuration
 @EnableWebSecurity
 //@EnableMethodSecurity
@@ -43,11 +47,23 @@ public class WebSecurityConfig {
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    @Value("${seed.async}")
+    private boolean seedAsync;
+
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
     }
 
+    // the filter only belongs in the security chain; registered as a servlet filter as well (it was also
+    // a @Component) it ran up to three times per request and loaded the user each time
+    @Bean
+    public FilterRegistrationBean<AuthTokenFilter> authTokenFilterRegistration(AuthTokenFilter filter) {
+        FilterRegistrationBean<AuthTokenFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
 
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
@@ -85,6 +101,9 @@ public class WebSecurityConfig {
                                 .requestMatchers("/api/public/**").permitAll()
                                 .requestMatchers("/swagger-ui/**").permitAll()
                                 .requestMatchers("/api/test/**").permitAll()
+                                // probed by the orchestrator; the scrape exposes internals, so Prometheus needs an admin token
+                                .requestMatchers("/actuator/health/**").permitAll()
+                                .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
                                 .requestMatchers("/images/**").permitAll()
                                 .requestMatchers(HttpMethod.PUT, "/products/*/image").permitAll()
                                 .anyRequest().authenticated()
@@ -112,7 +131,7 @@ public class WebSecurityConfig {
     @Bean
     public CommandLineRunner initData(RoleRepository roleRepository, UserRepository userRepository, PasswordEncoder passwordEncoder) {
         return args -> {
-            // Retrieve or create roles
+            // Retrieve or create roles; sign-up needs them as soon as the application takes traffic
             Role userRole = roleRepository.findByRoleName(AppRole.ROLE_USER)
                     .orElseGet(() -> {
                         Role newUserRole = new Role(AppRole.ROLE_USER);
@@ -131,42 +150,59 @@ public class WebSecurityConfig {
                         return roleRepository.save(newAdminRole);
                     });
 
-            Set<Role> userRoles = Set.of(userRole);
-            Set<Role> sellerRoles = Set.of(sellerRole);
-            Set<Role> adminRoles = Set.of(userRole, sellerRole, adminRole);
-
-
-            // Create users if not already present
-            if (!userRepository.existsByUserName("user1")) {
-                User user1 = new User("user1", "user1@example.com", passwordEncoder.encode("password1"));
-                userRepository.save(user1);
+            Runnable seedUsers = () -> seedUsers(userRepository, passwordEncoder, userRole, sellerRole, adminRole);
+            if (seedAsync) {
+                // the demo users cost three bcrypt hashes and a handful of round trips; nothing waits for them
+                Thread.ofPlatform().name("seed-data").daemon().start(() -> {
+                    try {
+                        seedUsers.run();
+                    } catch (RuntimeException e) {
+                        log.error("Seeding demo users failed", e);
+                    }
+                });
+            } else {
+                seedUsers.run();
             }
-
-            if (!userRepository.existsByUserName("seller1")) {
-                User seller1 = new User("seller1", "seller1@example.com", passwordEncoder.encode("password2"));
-                userRepository.save(seller1);
-            }
-
-            if (!userRepository.existsByUserName("admin")) {
-                User admin = new User("admin", "admin@example.com", passwordEncoder.encode("adminPass"));
-                userRepository.save(admin);
-            }
-
-            // Update roles for existing users
-            userRepository.findByUserName("user1").ifPresent(user -> {
-                user.setRoles(userRoles);
-                userRepository.save(user);
-            });
-
-            userRepository.findByUserName("seller1").ifPresent(seller -> {
-                seller.setRoles(sellerRoles);
-                userRepository.save(seller);
-            });
-
-            userRepository.findByUserName("admin").ifPresent(admin -> {
-                admin.setRoles(adminRoles);
-                userRepository.save(admin);
-            });
         };
     }
-}
\ No newline at end of file
+
+    private void seedUsers(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                           Role userRole, Role sellerRole, Role adminRole) {
+        Set<Role> userRoles = Set.of(userRole);
+        Set<Role> sellerRoles = Set.of(sellerRole);
+        Set<Role> adminRoles = Set.of(userRole, sellerRole, adminRole);
+
+
+        // Create users if not already present
+        if (!userRepository.existsByUserName("user1")) {
+            User user1 = new User("user1", "user1@example.com", passwordEncoder.encode("password1"));
+            userRepository.save(user1);
+        }
+
+        if (!userRepository.existsByUserName("seller1")) {
+            User seller1 = new User("seller1", "seller1@example.com", passwordEncoder.encode("password2"));
+            userRepository.save(seller1);
+        }
+
+        if (!userRepository.existsByUserName("admin")) {
+            User admin = new User("admin", "admin@example.com", passwordEncoder.encode("adminPass"));
+            userRepository.save(admin);
+        }
+
+        // Update roles for existing users
+        userRepository.findByUserName("user1").ifPresent(user -> {
+            user.setRoles(userRoles);
+            userRepository.save(user);
+        });
+
+        userRepository.findByUserName("seller1").ifPresent(seller -> {
+            seller.setRoles(sellerRoles);
+            userRepository.save(seller);
+        });
+
+        userRepository.findByUserName("admin").ifPresent(admin -> {
+            admin.setRoles(adminRoles);
+            userRepository.save(admin);
+        });
+    }
+}
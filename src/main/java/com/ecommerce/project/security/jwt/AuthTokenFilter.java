@@ -1,6 +1,8 @@
 package com.ecommerce.project.security.jwt;
 
 import com.ecommerce.project.security.services.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,12 +14,10 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
-@Component
 public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtils jwtUtils;
@@ -25,17 +25,20 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        logger.debug("Authorization header: {}", request.getHeader("Authorization"));
         String jwt = parseJwt(request);
-        logger.debug("Parsed JWT: {}", jwt);
-
-        logger.debug("AuthTokenFilter called for URI: {}", request.getRequestURI());
+        // never log the header or the token, they are credentials
+        logger.trace("AuthTokenFilter called for URI: {}", request.getRequestURI());
+        // token validation and user lookup only; the rest of the chain is not part of the filter's cost
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
 
             if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
@@ -56,6 +59,7 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         } catch (Exception e) {
             logger.error("Cannot set user authentication: {}", e);
         }
+        sample.stop(meterRegistry.timer("security.jwt.filter", "token", jwt != null ? "present" : "absent"));
 
         filterChain.doFilter(request, response);
     }
@@ -2,6 +2,8 @@ package com.ecommerce.project.service;
 
 import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.mapper.CartMapper;
+import com.ecommerce.project.mapper.ProductMapper;
 import com.ecommerce.project.model.Cart;
 import com.ecommerce.project.model.CartItem;
 import com.ecommerce.project.model.Product;
@@ -12,8 +14,8 @@ import com.ecommerce.project.repositories.CartItemRepository;
 import com.ecommerce.project.repositories.CartRepository;
 import com.ecommerce.project.repositories.ProductRepository;
 import com.ecommerce.project.util.AuthUtil;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +23,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -40,9 +43,13 @@ public class CartServiceImpl implements CartService {
     CartItemRepository cartItemRepository;
 
     @Autowired
-    ModelMapper modelMapper;
+    CartMapper cartMapper;
+
+    @Autowired
+    ProductMapper productMapper;
 
     @Override
+    @Timed(value = "cart.mutation", extraTags = {"operation", "add"}, histogram = true)
     public CartDTO addProductToCart(Long productId, Integer quantity) {
         Cart cart = createCart();
 
@@ -80,12 +87,12 @@ public class CartServiceImpl implements CartService {
 
         cartRepository.save(cart);
 
-        CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
+        CartDTO cartDTO = cartMapper.toCartDTO(cart);
 
         List<CartItem> cartItems = cart.getCartItems();
 
         Stream<ProductDTO> productStream = cartItems.stream().map(item -> {
-            ProductDTO map = modelMapper.map(item.getProduct(), ProductDTO.class);
+            ProductDTO map = productMapper.toProductDTO(item.getProduct());
             map.setQuantity(item.getQuantity());
             return map;
         });
@@ -104,10 +111,10 @@ public class CartServiceImpl implements CartService {
         }
 
         List<CartDTO> cartDTOs = carts.stream().map(cart -> {
-            CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
+            CartDTO cartDTO = cartMapper.toCartDTO(cart);
 
             List<ProductDTO> products = cart.getCartItems().stream().map(cartItem -> {
-                ProductDTO productDTO = modelMapper.map(cartItem.getProduct(), ProductDTO.class);
+                ProductDTO productDTO = productMapper.toProductDTO(cartItem.getProduct());
                 productDTO.setQuantity(cartItem.getQuantity()); // Set the quantity from CartItem
                 return productDTO;
             }).collect(Collectors.toList());
@@ -128,11 +135,14 @@ public class CartServiceImpl implements CartService {
         if (cart == null) {
             throw new ResourceNotFoundException("Cart", "cartId", cartId);
         }
-        CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
-        cart.getCartItems().forEach(c ->
-                c.getProduct().setQuantity(c.getQuantity()));
+        CartDTO cartDTO = cartMapper.toCartDTO(cart);
+        // quantity goes on the DTO, the managed Product keeps its stock level
         List<ProductDTO> products = cart.getCartItems().stream()
-                .map(p -> modelMapper.map(p.getProduct(), ProductDTO.class))
+                .map(c -> {
+                    ProductDTO productDTO = productMapper.toProductDTO(c.getProduct());
+                    productDTO.setQuantity(c.getQuantity());
+                    return productDTO;
+                })
                 .toList();
         cartDTO.setProducts(products);
         return cartDTO;
@@ -140,6 +150,7 @@ public class CartServiceImpl implements CartService {
 
     @Transactional
     @Override
+    @Timed(value = "cart.mutation", extraTags = {"operation", "update_quantity"}, histogram = true)
     public CartDTO updateProductQuantityInCart(Long productId, Integer quantity) {
 
         String emailId = authUtil.loggedInEmail();
@@ -191,12 +202,12 @@ public class CartServiceImpl implements CartService {
         }
 
 
-        CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
+        CartDTO cartDTO = cartMapper.toCartDTO(cart);
 
         List<CartItem> cartItems = cart.getCartItems();
 
         Stream<ProductDTO> productStream = cartItems.stream().map(item -> {
-            ProductDTO prd = modelMapper.map(item.getProduct(), ProductDTO.class);
+            ProductDTO prd = productMapper.toProductDTO(item.getProduct());
             prd.setQuantity(item.getQuantity());
             return prd;
         });
@@ -224,6 +235,7 @@ public class CartServiceImpl implements CartService {
 
     @Transactional
     @Override
+    @Timed(value = "cart.mutation", extraTags = {"operation", "delete"}, histogram = true)
     public String deleteProductFromCart(Long cartId, Long productId) {
         Cart cart = cartRepository.findById(cartId)
                 .orElseThrow(() -> new ResourceNotFoundException("Cart", "cartId", cartId));
@@ -269,6 +281,7 @@ public class CartServiceImpl implements CartService {
 
     @Transactional
     @Override
+    @Timed(value = "cart.mutation", extraTags = {"operation", "replace"}, histogram = true)
     public String createOrUpdateCartWithItems(List<CartItemDTO> cartItems) {
 
         //Get user's email
@@ -286,7 +299,7 @@ public class CartServiceImpl implements CartService {
             cartItemRepository.deleteAllByCartId(existingCart.getCartId());
         }
 
-        double totalPrice = 0.00;
+        List<CartItem> savedItems = new ArrayList<>(cartItems.size());
         // Process each item in the request to add to the cart
         for (CartItemDTO cartItemDTO : cartItems) {
             Long productId = cartItemDTO.getProductId();
@@ -298,7 +311,6 @@ public class CartServiceImpl implements CartService {
 
             // Directly update product stock and total price
            // product.setQuantity(product.getQuantity() - quantity);
-            totalPrice += product.getSpecialPrice() * quantity;
 
             // Create and save cart item
             CartItem cartItem = new CartItem();
@@ -308,11 +320,20 @@ public class CartServiceImpl implements CartService {
             cartItem.setProductPrice(product.getSpecialPrice());
             cartItem.setDiscount(product.getDiscount());
             cartItemRepository.save(cartItem);
+            savedItems.add(cartItem);
         }
         // Update the cart's total price and save
-        existingCart.setTotalPrice(totalPrice);
+        existingCart.setTotalPrice(cartTotal(savedItems));
         cartRepository.save(existingCart);
         return "Cart created/updated with the new items successfully";
     }
 
+    static double cartTotal(List<CartItem> cartItems) {
+        double totalPrice = 0.00;
+        for (CartItem cartItem : cartItems) {
+            totalPrice += cartItem.getProductPrice() * cartItem.getQuantity();
+        }
+        return totalPrice;
+    }
+
 }
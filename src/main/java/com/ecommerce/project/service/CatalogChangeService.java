@@ -0,0 +1,25 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.CatalogChangeType;
+import com.ecommerce.project.model.CatalogEntityType;
+import com.ecommerce.project.payload.CatalogChangesResponse;
+
+import java.util.Collection;
+
+public interface CatalogChangeService {
+    long currentVersion();
+
+    long currentChangeVersion();
+
+    long currentProductsVersion();
+
+    void recordChange(CatalogEntityType entityType, Long entityId, CatalogChangeType changeType);
+
+    void recordProductChanges(Collection<Long> productIds, CatalogChangeType changeType);
+
+    void recordStockChanges(Collection<Long> productIds);
+
+    void recordCategoryDelete(Long categoryId);
+
+    CatalogChangesResponse getChanges(Long since, Integer limit);
+}
@@ -0,0 +1,287 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.mapper.CategoryMapper;
+import com.ecommerce.project.mapper.ProductMapper;
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.payload.CatalogChangesResponse;
+import com.ecommerce.project.payload.CategoryDTO;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.repositories.CatalogChangeRepository;
+import com.ecommerce.project.repositories.CatalogVersionRepository;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Change rows are written in the caller's transaction, stamped with a version taken from the
+// catalog_versions row. The row stays locked until that transaction ends, so versions commit in
+// order and a client's since never skips a change that commits late. Stock-only changes get a
+// change version (the delta feed carries quantities) but leave the catalog version alone.
+// Product pages carry stock too, so they follow the products version: the change version, resampled
+// at once after a catalog write but at most every catalog.products.stock-refresh-ms for stock-only
+// changes. Checkouts then cannot churn every product ETag and cached page, and stock on those pages is
+// never more than that (plus the outbox and refresh delays) behind.
+// Both versions are kept in memory: a local commit marks them stale so the next read reloads them,
+// and the scheduled refresh picks up writes made by other instances. Entities changed since the
+// previous refresh are evicted from the second-level cache: Hibernate keeps it current for this
+// instance's writes, not for other instances'.
+@Service
+public class CatalogChangeServiceImpl implements CatalogChangeService {
+
+    @Autowired
+    private CatalogChangeRepository catalogChangeRepository;
+
+    @Autowired
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductMapper productMapper;
+
+    @Autowired
+    private CategoryMapper categoryMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${catalog.changes.max-limit}")
+    private int maxLimit;
+
+    @Value("${catalog.products.stock-refresh-ms}")
+    private long stockRefreshMs;
+
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final AtomicLong changeVersion = new AtomicLong();
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private final AtomicReference<ProductsVersion> productsVersion =
+            new AtomicReference<>(new ProductsVersion(-1, 0, 0));
+
+    @Override
+    public long currentVersion() {
+        refreshIfStale();
+        return catalogVersion.get();
+    }
+
+    @Override
+    public long currentChangeVersion() {
+        refreshIfStale();
+        return changeVersion.get();
+    }
+
+    @Override
+    public long currentProductsVersion() {
+        refreshIfStale();
+        // catalogVersion is read first: refreshVersion raises changeVersion before it, so a new catalog
+        // version is never sampled together with an older change version
+        long catalog = catalogVersion.get();
+        long now = System.currentTimeMillis();
+        ProductsVersion sampled = productsVersion.get();
+        if (sampled.catalogVersion() != catalog || now - sampled.sampledAt() >= stockRefreshMs) {
+            productsVersion.compareAndSet(sampled, new ProductsVersion(catalog, changeVersion.get(), now));
+            sampled = productsVersion.get();
+        }
+        return sampled.version();
+    }
+
+    private void refreshIfStale() {
+        if (stale.compareAndSet(true, false)) {
+            refreshVersion();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.version.refresh-ms}")
+    public void refreshVersion() {
+        // every catalog version bumps the change version in the same UPDATE, so reading the catalog version
+        // first guarantees the change version read after it is at least as new
+        long catalog = catalogVersionRepository.findCatalogVersion();
+        long latest = catalogVersionRepository.findChangeVersion();
+        long previous = changeVersion.getAndAccumulate(latest, Math::max);
+        catalogVersion.accumulateAndGet(catalog, Math::max);
+        // nothing is cached yet on the first load
+        if (previous > 0 && latest > previous) {
+            evictChangedSince(previous);
+        }
+    }
+
+    private void evictChangedSince(long since) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        List<CatalogChange> changes = catalogChangeRepository.findChangesSince(since, PageRequest.of(0, maxLimit));
+        if (changes.size() == maxLimit) {
+            cache.evictEntityData(Product.class);
+            cache.evictEntityData(Category.class);
+            cache.evictQueryRegion("query.categories");
+            return;
+        }
+        boolean categoriesChanged = false;
+        for (CatalogChange change : changes) {
+            if (change.getEntityType() == CatalogEntityType.PRODUCT) {
+                cache.evictEntityData(Product.class, change.getEntityId());
+            } else {
+                cache.evictEntityData(Category.class, change.getEntityId());
+                categoriesChanged = true;
+            }
+        }
+        if (categoriesChanged) {
+            cache.evictQueryRegion("query.categories");
+        }
+    }
+
+    @Override
+    @Transactional
+    public void recordChange(CatalogEntityType entityType, Long entityId, CatalogChangeType changeType) {
+        catalogChangeRepository.save(new CatalogChange(entityType, entityId, changeType, nextVersion(true)));
+        markStaleAfterCommit();
+    }
+
+    @Override
+    @Transactional
+    public void recordProductChanges(Collection<Long> productIds, CatalogChangeType changeType) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        catalogChangeRepository.insertProductChanges(productIds, changeType, LocalDateTime.now(), nextVersion(true));
+        markStaleAfterCommit();
+    }
+
+    @Override
+    @Transactional
+    public void recordStockChanges(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        catalogChangeRepository.insertProductChanges(productIds, CatalogChangeType.UPSERT, LocalDateTime.now(),
+                nextVersion(false));
+        markStaleAfterCommit();
+    }
+
+    @Override
+    @Transactional
+    public void recordCategoryDelete(Long categoryId) {
+        long version = nextVersion(true);
+        // the category's products go with it through the cascade
+        catalogChangeRepository.insertCategoryProductChanges(categoryId, CatalogChangeType.DELETE,
+                LocalDateTime.now(), version);
+        catalogChangeRepository.save(
+                new CatalogChange(CatalogEntityType.CATEGORY, categoryId, CatalogChangeType.DELETE, version));
+        markStaleAfterCommit();
+    }
+
+    // The UPDATE locks the counter row until the caller's transaction ends: a concurrent writer waits
+    // here, so it can only take a higher version once this one has committed or rolled back
+    private long nextVersion(boolean catalogContent) {
+        if (catalogContent) {
+            catalogVersionRepository.incrementCatalogVersion();
+        } else {
+            catalogVersionRepository.incrementChangeVersion();
+        }
+        return catalogVersionRepository.findChangeVersion();
+    }
+
+    @Override
+    public CatalogChangesResponse getChanges(Long since, Integer limit) {
+        int pageSize = Math.min(Math.max(limit, 1), maxLimit);
+        CatalogChangesResponse response = new CatalogChangesResponse();
+
+        if (since < catalogVersionRepository.findPurgedVersion()) {
+            // the change log was purged past the client's version
+            response.setVersion(currentChangeVersion());
+            response.setResyncRequired(true);
+            return response;
+        }
+
+        List<CatalogChange> changes = catalogChangeRepository.findChangesSince(since, PageRequest.of(0, pageSize));
+        if (changes.isEmpty()) {
+            response.setVersion(Math.max(since, currentChangeVersion()));
+            return response;
+        }
+        boolean hasMore = changes.size() == pageSize;
+        if (hasMore) {
+            // the next page starts after the returned version, so a version is never split across pages:
+            // drop its rows from the end of a full page, or return all of it if it fills the page alone
+            long last = changes.get(changes.size() - 1).getChangeVersion();
+            changes = changes.get(0).getChangeVersion() == last
+                    ? catalogChangeRepository.findChangesAt(last)
+                    : changes.stream().filter(change -> change.getChangeVersion() != last).toList();
+        }
+
+        // only the latest change per entity matters
+        Map<Long, CatalogChangeType> productChanges = new LinkedHashMap<>();
+        Map<Long, CatalogChangeType> categoryChanges = new LinkedHashMap<>();
+        for (CatalogChange change : changes) {
+            Map<Long, CatalogChangeType> target = change.getEntityType() == CatalogEntityType.PRODUCT
+                    ? productChanges : categoryChanges;
+            target.remove(change.getEntityId());
+            target.put(change.getEntityId(), change.getChangeType());
+        }
+
+        List<Long> upsertedProductIds = idsWithChange(productChanges, CatalogChangeType.UPSERT);
+        Set<Long> foundProductIds = new HashSet<>();
+        for (Product product : productRepository.findAllById(upsertedProductIds)) {
+            foundProductIds.add(product.getProductId());
+            response.getProducts().add(productMapper.toProductDTO(product));
+        }
+        response.getDeletedProductIds().addAll(idsWithChange(productChanges, CatalogChangeType.DELETE));
+        // deleted after the last change in this page
+        upsertedProductIds.stream().filter(id -> !foundProductIds.contains(id))
+                .forEach(response.getDeletedProductIds()::add);
+
+        List<Long> upsertedCategoryIds = idsWithChange(categoryChanges, CatalogChangeType.UPSERT);
+        Set<Long> foundCategoryIds = new HashSet<>();
+        for (Category category : categoryRepository.findAllById(upsertedCategoryIds)) {
+            foundCategoryIds.add(category.getCategoryId());
+            response.getCategories().add(categoryMapper.toCategoryDTO(category));
+        }
+        response.getDeletedCategoryIds().addAll(idsWithChange(categoryChanges, CatalogChangeType.DELETE));
+        upsertedCategoryIds.stream().filter(id -> !foundCategoryIds.contains(id))
+                .forEach(response.getDeletedCategoryIds()::add);
+
+        response.setVersion(changes.get(changes.size() - 1).getChangeVersion());
+        response.setHasMore(hasMore);
+        return response;
+    }
+
+    private record ProductsVersion(long catalogVersion, long version, long sampledAt) {
+    }
+
+    private List<Long> idsWithChange(Map<Long, CatalogChangeType> changes, CatalogChangeType changeType) {
+        List<Long> ids = new ArrayList<>();
+        changes.forEach((id, type) -> {
+            if (type == changeType) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+
+    private void markStaleAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            stale.set(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stale.set(true);
+            }
+        });
+    }
+}
@@ -2,11 +2,14 @@ package com.ecommerce.project.service;
 
 import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.mapper.CategoryMapper;
+import com.ecommerce.project.model.CatalogChangeType;
+import com.ecommerce.project.model.CatalogEntityType;
 import com.ecommerce.project.model.Category;
 import com.ecommerce.project.payload.CategoryDTO;
 import com.ecommerce.project.payload.CategoryResponse;
 import com.ecommerce.project.repositories.CategoryRepository;
-import org.modelmapper.ModelMapper;
+import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -27,7 +30,10 @@ public class CategoryServiceImpl implements CategoryService{
     private CategoryRepository categoryRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private CategoryMapper categoryMapper;
+
+    @Autowired
+    private CatalogChangeService catalogChangeService;
 
     @Override
     public CategoryResponse getAllCategories(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
@@ -44,7 +50,7 @@ public class CategoryServiceImpl implements CategoryService{
             throw new APIException("No category created till now.");
 
         List<CategoryDTO> categoryDTOS=categories.stream()
-                .map(category -> modelMapper.map(category,CategoryDTO.class))
+                .map(category -> categoryMapper.toCategoryDTO(category))
                 .toList();
 
         CategoryResponse categoryResponse=new CategoryResponse();
@@ -60,30 +66,36 @@ public class CategoryServiceImpl implements CategoryService{
     }
 
     @Override
+    @Transactional
     public CategoryDTO createCategory(CategoryDTO categoryDTO) {
-        Category category = modelMapper.map(categoryDTO, Category.class);
+        Category category = categoryMapper.toCategory(categoryDTO);
         Category categoryFromDb = categoryRepository.findByCategoryName(category.getCategoryName());
         if (categoryFromDb != null)
             throw new APIException("Category with the name " + category.getCategoryName() + " already exists !!!");
         Category savedCategory = categoryRepository.save(category);
-        return modelMapper.map(savedCategory, CategoryDTO.class);
+        catalogChangeService.recordChange(CatalogEntityType.CATEGORY, savedCategory.getCategoryId(), CatalogChangeType.UPSERT);
+        return categoryMapper.toCategoryDTO(savedCategory);
     }
 
     @Override
+    @Transactional
     public CategoryDTO deleteCategory(Long categoryId) {
         Category category=categoryRepository.findById(categoryId)
                 .orElseThrow(()->new ResourceNotFoundException("Category","categoryId",categoryId));
+        catalogChangeService.recordCategoryDelete(categoryId);
         categoryRepository.delete(category);
-        return modelMapper.map(category,CategoryDTO.class);
+        return categoryMapper.toCategoryDTO(category);
     }
 
     @Override
+    @Transactional
     public CategoryDTO updateCategory(CategoryDTO categoryDTO, Long categoryId) {
 
         Category savedCategory=categoryRepository.findById(categoryId).orElseThrow(()->new ResourceNotFoundException("Category","categoryId",categoryId));
-        Category category=modelMapper.map(categoryDTO,Category.class);//category object
+        Category category=categoryMapper.toCategory(categoryDTO);//category object
         category.setCategoryId(categoryId);
         savedCategory=categoryRepository.save(category);
-        return modelMapper.map(savedCategory, CategoryDTO.class);
+        catalogChangeService.recordChange(CatalogEntityType.CATEGORY, categoryId, CatalogChangeType.UPSERT);
+        return categoryMapper.toCategoryDTO(savedCategory);
     }
 }
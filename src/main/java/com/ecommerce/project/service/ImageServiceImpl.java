@@ -18,12 +18,14 @@ public class ImageServiceImpl implements ImageService {
     public ImageServiceImpl(
             @Value("${cloudinary.cloud_name}") String cloudName,
             @Value("${cloudinary.api_key}") String apiKey,
-            @Value("${cloudinary.api_secret}") String apiSecret
+            @Value("${cloudinary.api_secret}") String apiSecret,
+            @Value("${cloudinary.timeout-seconds}") int timeoutSeconds
     ) {
         this.cloudinary = new Cloudinary(ObjectUtils.asMap(
                 "cloud_name", cloudName,
                 "api_key", apiKey,
-                "api_secret", apiSecret
+                "api_secret", apiSecret,
+                "timeout", timeoutSeconds
         ));
     }
 
@@ -3,6 +3,7 @@ package com.ecommerce.project.service;
 import com.ecommerce.project.model.*;
 import com.ecommerce.project.payload.LinePayConfirmDTO;
 import com.ecommerce.project.payload.LinePayRequestDTO;
+import com.ecommerce.project.payload.PaymentEventDTO;
 
 // LinePayServiceImpl.java
 
@@ -13,13 +14,15 @@ import com.ecommerce.project.repositories.ProductRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
 import javax.crypto.Mac;
@@ -32,7 +35,8 @@ import java.util.*;
 @RequiredArgsConstructor
 public class LinePayServiceImpl implements LinePayService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Autowired
+    private RestTemplate restTemplate;
     private final ObjectMapper objectMapper = new ObjectMapper();
     @Value("${linepay.channel.id}")
     private String channelId;
@@ -52,7 +56,14 @@ public class LinePayServiceImpl implements LinePayService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Override
+    @Timed(value = "payment.gateway", extraTags = {"gateway", "linepay", "operation", "reserve"}, histogram = true)
     public String reserve(LinePayRequestDTO requestDTO) {
         String endpoint = "/v3/payments/request";
         String requestUrl = apiUrl + endpoint;
@@ -105,7 +116,8 @@ public class LinePayServiceImpl implements LinePayService {
         }
     }
 
-    private String generateSignature(String secretKey, String uri, String body, String nonce) throws Exception {
+    // package-private and stateless so LinePaySignatureBenchmark can call it directly
+    static String generateSignature(String secretKey, String uri, String body, String nonce) throws Exception {
         String message = secretKey + uri + body + nonce;
         Mac mac = Mac.getInstance("HmacSHA256");
         SecretKeySpec secretKeySpec = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
@@ -114,7 +126,9 @@ public class LinePayServiceImpl implements LinePayService {
         return Base64.getEncoder().encodeToString(hmac);
     }
 
-    @Transactional
+    // Not transactional: the LINE Pay call must not hold a pooled connection. Only the event is written
+    // in a transaction, once LINE Pay has confirmed.
+    @Timed(value = "payment.gateway", extraTags = {"gateway", "linepay", "operation", "confirm"}, histogram = true)
     public String confirmPayment(String transactionId, LinePayConfirmDTO confirmDTO) {
         String endpointPath = "/v3/payments/" + transactionId + "/confirm";
         String endpointUrl = apiUrl + endpointPath;
@@ -179,7 +193,6 @@ public class LinePayServiceImpl implements LinePayService {
 
             if ("0000".equals(returnCode)) {
                 log.info("[LinePay] 確認成功（returnCode=0000）");
-                return "CONFIRMED";
             } else {
                 log.error("[LinePay] 確認失敗：{} {}", returnCode, returnMessage);
                 throw new RuntimeException("LinePay confirmation failed: " + returnCode + " " + returnMessage);
@@ -188,6 +201,12 @@ public class LinePayServiceImpl implements LinePayService {
             log.error("[LinePay] 回應解析失敗", parseEx);
             throw new RuntimeException("LinePay confirmation parse error", parseEx);
         }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                outboxService.publish(OutboxEventType.LINEPAY_CONFIRMED, "Order", confirmDTO.getOrderId(),
+                        new PaymentEventDTO(confirmDTO.getOrderId(), transactionId,
+                                confirmDTO.getAmount(), confirmDTO.getCurrency())));
+        return "CONFIRMED";
     }
 
 
@@ -0,0 +1,12 @@
+package com.ecommerce.project.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface OrderExportService {
+    String FORMAT_CSV = "csv";
+    String FORMAT_NDJSON = "ndjson";
+
+    void exportOrders(LocalDate from, LocalDate to, String status, String format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,139 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.OrderExportRowDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+// Streams one line per order item from a forward-only scroll. Rows are projected straight
+// into OrderExportRowDTO, so no Order/OrderItem/Product entity is loaded into the session.
+@Service
+public class OrderExportServiceImpl implements OrderExportService {
+
+    private static final String EXPORT_QUERY =
+            "SELECT new com.ecommerce.project.payload.OrderExportRowDTO(" +
+            "o.orderId, o.orderDate, o.email, o.orderStatus, o.totalAmount, pay.paymentMethod, pay.pgName, " +
+            "pr.productId, pr.productName, oi.quantity, oi.orderedProductPrice, oi.discount) " +
+            "FROM OrderItem oi JOIN oi.order o JOIN oi.product pr LEFT JOIN o.payment pay " +
+            "WHERE o.orderDate BETWEEN :from AND :to AND (:status IS NULL OR o.orderStatus = :status) " +
+            "ORDER BY o.orderId, oi.orderItemId";
+
+    private static final String CSV_HEADER =
+            "orderId,orderDate,email,orderStatus,totalAmount,paymentMethod,pgName,productId,productName,quantity,unitPrice,discount";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${export.orders.fetch-size}")
+    private int fetchSize;
+
+    @Value("${export.orders.mysql-streaming}")
+    private boolean mysqlStreaming;
+
+    // only Connector/J streams on Integer.MIN_VALUE; H2 and other drivers reject a negative fetch size
+    @PostConstruct
+    public void init() {
+        Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+        if (mysqlStreaming && dialect instanceof MySQLDialect) {
+            fetchSize = Integer.MIN_VALUE;
+        }
+    }
+
+    @Override
+    public void exportOrders(LocalDate from, LocalDate to, String status, String format, OutputStream out) throws IOException {
+        boolean csv = FORMAT_CSV.equals(format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (csv) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        // first byte goes out before the query runs
+        writer.flush();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(txStatus -> {
+            Session session = entityManager.unwrap(Session.class);
+            try (ScrollableResults<OrderExportRowDTO> rows = session.createSelectionQuery(EXPORT_QUERY, OrderExportRowDTO.class)
+                    .setParameter("from", from)
+                    .setParameter("to", to)
+                    .setParameter("status", status)
+                    .setReadOnly(true)
+                    .setFetchSize(fetchSize)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (rows.next()) {
+                    OrderExportRowDTO row = rows.get();
+                    if (csv) {
+                        writeCsvRow(writer, row);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(row));
+                        writer.write('\n');
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private void writeCsvRow(Writer writer, OrderExportRowDTO row) throws IOException {
+        writer.write(String.valueOf(row.getOrderId()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getOrderDate()));
+        writer.write(',');
+        writer.write(csvField(row.getEmail()));
+        writer.write(',');
+        writer.write(csvField(row.getOrderStatus()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getTotalAmount()));
+        writer.write(',');
+        writer.write(csvField(row.getPaymentMethod()));
+        writer.write(',');
+        writer.write(csvField(row.getPgName()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getProductId()));
+        writer.write(',');
+        writer.write(csvField(row.getProductName()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getQuantity()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getUnitPrice()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getDiscount()));
+        writer.write('\n');
+    }
+
+    private String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
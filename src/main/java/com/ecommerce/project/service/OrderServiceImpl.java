@@ -1,20 +1,32 @@
 package com.ecommerce.project.service;
 
+import com.ecommerce.project.config.AppConstants;
 import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.mapper.OrderMapper;
 import com.ecommerce.project.model.*;
 import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.payload.OrderEventDTO;
+import com.ecommerce.project.payload.OrderEventItemDTO;
 import com.ecommerce.project.payload.OrderItemDTO;
 import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.payload.StockEventDTO;
 import com.ecommerce.project.repositories.*;
+import com.ecommerce.project.util.PhaseTimer;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,25 +48,37 @@ public class OrderServiceImpl implements OrderService {
     PaymentRepository paymentRepository;
 
     @Autowired
-    CartService cartService;
+    CartItemRepository cartItemRepository;
 
     @Autowired
-    ModelMapper modelMapper;
+    OrderMapper orderMapper;
 
     @Autowired
     ProductRepository productRepository;
 
+    @Autowired
+    OutboxService outboxService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
     @Override
     @Transactional
+    @Timed(value = "order.place", histogram = true)
     public OrderDTO placeOrder(String emailId, Long addressId, String paymentMethod, String pgName, String pgPaymentId, String pgStatus, String pgResponseMessage) {
+        PhaseTimer phases = PhaseTimer.start(meterRegistry, "order.place.phase");
 
-        Cart cart = cartRepository.findCartByEmail(emailId);
+        Cart cart = cartRepository.findCartWithItemsByEmail(emailId);
         if (cart == null) {
             throw new ResourceNotFoundException("Cart", "email", emailId);
         }
 
         Address address = addressRepository.findById(addressId)
                 .orElseThrow(() -> new ResourceNotFoundException("Address", "addressId", addressId));
+        phases.end("cart_load");
 
         Order order = new Order();
         order.setEmail(emailId);
@@ -69,6 +93,7 @@ public class OrderServiceImpl implements OrderService {
         order.setPayment(payment);
 
         Order savedOrder = orderRepository.save(order);
+        phases.end("payment_save");
 
         List<CartItem> cartItems = cart.getCartItems();
         if (cartItems.isEmpty()) {
@@ -89,23 +114,21 @@ public class OrderServiceImpl implements OrderService {
         }
 
         orderItems = orderItemRepository.saveAll(orderItems);
+        phases.end("item_insert");
 
-        cart.getCartItems().forEach(item -> {
-            int quantity = item.getQuantity();
-            Product product = item.getProduct();
+        decrementStock(orderItems);
+        phases.end("stock_decrement");
 
-            // Reduce stock quantity
-            product.setQuantity(product.getQuantity() - quantity);
+        flushWrites(phases);
 
-            // Save product back to the database
-            productRepository.save(product);
+        clearCart(cart);
+        phases.end("cart_clear");
 
-            // Remove items from cart
-            cartService.deleteProductFromCart(cart.getCartId(), item.getProduct().getProductId());
-        });
+        publishOrderEvents(savedOrder, orderItems);
+        phases.end("events");
 
-        OrderDTO orderDTO = modelMapper.map(savedOrder, OrderDTO.class);
-        orderItems.forEach(item -> orderDTO.getOrderItems().add(modelMapper.map(item, OrderItemDTO.class)));
+        OrderDTO orderDTO = orderMapper.toOrderDTO(savedOrder);
+        orderItems.forEach(item -> orderDTO.getOrderItems().add(orderMapper.toOrderItemDTO(item)));
 
         orderDTO.setAddressId(addressId);
 
@@ -114,6 +137,7 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     @Transactional
+    @Timed(value = "order.place", histogram = true)
     public OrderDTO placeOrder(
             String emailId,
             Long addressId,
@@ -128,15 +152,22 @@ public class OrderServiceImpl implements OrderService {
             return placeOrder(emailId, addressId, paymentMethod, pgName, pgPaymentId, pgStatus, pgResponseMessage);
         }
 
+        PhaseTimer phases = PhaseTimer.start(meterRegistry, "order.place.phase");
         Order order = orderRepository.findByOrderIdAndEmail(orderId, emailId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "orderId", orderId));
+        // Only a PENDING order can be placed, and only once. The conditional UPDATE keeps the row locked
+        // until commit, so PendingOrderReaper or a repeated confirmation finds it no longer PENDING
+        if (orderRepository.updateOrderStatus(List.of(orderId),
+                AppConstants.ORDER_STATUS_PENDING, "Order Accepted !") == 0) {
+            throw new APIException("Order " + orderId + " is not pending");
+        }
 
         Address address = addressRepository.findById(addressId)
                 .orElseThrow(() -> new ResourceNotFoundException("Address", "addressId", addressId));
         order.setAddress(address);
         List<OrderItem> itemsToUse;
         if (order.getOrderItems() == null || order.getOrderItems().isEmpty()) {
-            Cart cart = cartRepository.findCartByEmail(emailId);
+            Cart cart = cartRepository.findCartWithItemsByEmail(emailId);
             if (cart == null) throw new ResourceNotFoundException("Cart", "email", emailId);
 
             List<CartItem> cartItems = cart.getCartItems();
@@ -154,11 +185,14 @@ public class OrderServiceImpl implements OrderService {
                 oi.setOrder(order);
                 newOrderItems.add(oi);
             }
+            phases.end("cart_load");
             itemsToUse = orderItemRepository.saveAll(newOrderItems);
             order.setOrderItems(itemsToUse);
             order.setTotalAmount(cart.getTotalPrice());
+            phases.end("item_insert");
         } else {
             itemsToUse = order.getOrderItems();
+            phases.end("cart_load");
         }
 
         Payment payment = order.getPayment();
@@ -176,30 +210,89 @@ public class OrderServiceImpl implements OrderService {
         order.setPayment(payment);
         order.setOrderStatus("Order Accepted !");
         Order savedOrder = orderRepository.save(order);
+        phases.end("payment_save");
 
-        for (OrderItem item : itemsToUse) {
-            Product product = item.getProduct();
-            int newQty = product.getQuantity() - item.getQuantity();
-            if (newQty < 0) throw new APIException("Insufficient stock for " + product.getProductId());
-            product.setQuantity(newQty);
-            productRepository.save(product);
-        }
+        decrementStock(itemsToUse);
+        phases.end("stock_decrement");
+
+        flushWrites(phases);
 
         Cart cart = cartRepository.findCartByEmail(emailId);
-        if (cart != null && cart.getCartItems() != null && !cart.getCartItems().isEmpty()) {
-            for (CartItem ci : new ArrayList<>(cart.getCartItems())) {
-                cartService.deleteProductFromCart(cart.getCartId(), ci.getProduct().getProductId());
-            }
+        if (cart != null) {
+            clearCart(cart);
         }
+        phases.end("cart_clear");
+
+        publishOrderEvents(savedOrder, itemsToUse);
+        phases.end("events");
 
-        OrderDTO orderDTO = modelMapper.map(savedOrder, OrderDTO.class);
+        OrderDTO orderDTO = orderMapper.toOrderDTO(savedOrder);
         for (OrderItem oi : itemsToUse) {
-            orderDTO.getOrderItems().add(modelMapper.map(oi, OrderItemDTO.class));
+            orderDTO.getOrderItems().add(orderMapper.toOrderItemDTO(oi));
         }
         orderDTO.setAddressId(addressId);
         return orderDTO;
     }
 
+    // The stock check and the decrement are one conditional UPDATE per product, sent as one batch: the
+    // entity's quantity may be cached or already sold by a concurrent checkout, so it is never written
+    // back. Any short product rolls the whole order back.
+    private void decrementStock(List<OrderItem> orderItems) {
+        Map<Long, Integer> ordered = new HashMap<>();
+        orderItems.forEach(item -> ordered.merge(item.getProduct().getProductId(), item.getQuantity(), Integer::sum));
+        Map<Long, Integer> remaining = productRepository.decrementStock(ordered);
+
+        Session session = entityManager.unwrap(Session.class);
+        for (OrderItem item : orderItems) {
+            Product product = item.getProduct();
+            Integer left = remaining.get(product.getProductId());
+            if (left == null) {
+                throw new APIException("Insufficient stock for " + product.getProductId());
+            }
+            // mirror the new stock for the events and the response without flushing the entity
+            session.setReadOnly(product, true);
+            product.setQuantity(left);
+        }
+    }
+
+    // Written in the checkout transaction; OutboxDispatcher delivers them after commit
+    private void publishOrderEvents(Order order, List<OrderItem> orderItems) {
+        List<OrderEventItemDTO> items = orderItems.stream()
+                .map(item -> {
+                    Product product = item.getProduct();
+                    // the id getters don't initialise the lazy seller proxy
+                    Long categoryId = product.getCategory() != null ? product.getCategory().getCategoryId() : null;
+                    Long sellerId = product.getUser() != null ? product.getUser().getUserId() : null;
+                    return new OrderEventItemDTO(product.getProductId(), item.getQuantity(),
+                            item.getOrderedProductPrice(), categoryId, sellerId);
+                })
+                .toList();
+        outboxService.publish(OutboxEventType.ORDER_PLACED, "Order", order.getOrderId(),
+                new OrderEventDTO(order.getOrderId(), order.getEmail(), order.getOrderDate(),
+                        order.getTotalAmount(), items));
+
+        for (OrderItem item : orderItems) {
+            Product product = item.getProduct();
+            outboxService.publish(OutboxEventType.STOCK_ADJUSTED, "Product", product.getProductId(),
+                    new StockEventDTO(product.getProductId(), -item.getQuantity(),
+                            product.getQuantity(), order.getOrderId()));
+        }
+        // StockChangeSubscriber turns the STOCK_ADJUSTED events into catalog changes after commit
+    }
+
+    // The inserts and stock updates are batched until flush; flushing them here (once, as the commit
+    // would) gives their real cost its own phase instead of hiding it in whatever query runs next
+    private void flushWrites(PhaseTimer phases) {
+        orderItemRepository.flush();
+        phases.end("flush");
+    }
+
+    // One bulk DELETE instead of a lookup + delete per cart line
+    private void clearCart(Cart cart) {
+        cartItemRepository.deleteAllByCartId(cart.getCartId());
+        cart.setTotalPrice(0.0);
+    }
+
     @Override
     @Transactional
     public OrderDTO createOrderBeforeLinePay(
@@ -219,7 +312,7 @@ public class OrderServiceImpl implements OrderService {
         Order order = new Order();
         order.setEmail(email);
         order.setOrderDate(LocalDate.now());
-        order.setOrderStatus("PENDING");
+        order.setOrderStatus(AppConstants.ORDER_STATUS_PENDING);
         order.setAddress(address);
 
         List<OrderItem> orderItemList = new ArrayList<>();
@@ -308,7 +401,7 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public List<OrderDTO> getOrdersByUserEmail(String email) {
-        List<Order> orders = orderRepository.findByEmailOrderByOrderIdDesc(email);
+        List<Order> orders = orderRepository.findOrdersWithItemsByEmail(email, AppConstants.ORDER_STATUS_EXPIRED);
 
         return orders.stream().map(order -> {
             OrderDTO dto = new OrderDTO();
@@ -0,0 +1,12 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.OutboxEvent;
+import com.ecommerce.project.model.OutboxEventType;
+
+// In-process consumer of outbox events. Delivery is at-least-once: an event is redelivered
+// to every subscriber if any of them fails, so handle() has to be idempotent.
+public interface OutboxEventSubscriber {
+    boolean supports(OutboxEventType eventType);
+
+    void handle(OutboxEvent event);
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.OutboxEventType;
+
+public interface OutboxService {
+    // Must be called inside the transaction that makes the change, so the event commits with it
+    void publish(OutboxEventType eventType, String aggregateType, Long aggregateId, Object payload);
+}
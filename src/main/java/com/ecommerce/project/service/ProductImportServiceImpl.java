@@ -0,0 +1,376 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.model.CatalogChangeType;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductImportErrorDTO;
+import com.ecommerce.project.payload.ProductImportResponse;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// Reads the upload one record at a time and writes products in chunks of product.import.batch-size.
+// Each chunk is its own transaction, flushed as one JDBC batch and then cleared, so memory stays flat
+// and a bad chunk only rolls back its own rows, which are then retried one by one. Categories are resolved once up front and duplicate
+// names are checked against a per-category name set loaded on first use.
+@Slf4j
+@Service
+public class ProductImportServiceImpl implements ProductImportService {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CatalogChangeService catalogChangeService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${product.import.batch-size}")
+    private int batchSize;
+
+    @Value("${product.import.max-errors}")
+    private int maxErrors;
+
+    @Override
+    public ProductImportResponse importProducts(InputStream in, String format) throws IOException {
+        boolean csv = FORMAT_CSV.equals(format);
+        if (!csv && !FORMAT_NDJSON.equals(format)) {
+            throw new APIException("Unsupported import format: " + format);
+        }
+
+        ImportContext context = new ImportContext();
+        for (Category category : categoryRepository.findAll()) {
+            context.categoriesById.put(category.getCategoryId(), category);
+            context.categoriesByName.put(category.getCategoryName().toLowerCase(), category);
+        }
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        if (csv) {
+            readCsv(reader, context);
+        } else {
+            readNdjson(reader, context);
+        }
+        flushChunk(context);
+
+        log.info("Product import done: {} rows, {} imported, {} failed",
+                context.response.getTotalRows(), context.response.getImported(), context.response.getFailed());
+        return context.response;
+    }
+
+    private void readCsv(BufferedReader reader, ImportContext context) throws IOException {
+        List<String> header = readCsvRecord(reader);
+        if (header == null) {
+            throw new APIException("Import file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(), i);
+        }
+        if (!columns.containsKey("productname") ||
+                (!columns.containsKey("categoryid") && !columns.containsKey("categoryname"))) {
+            throw new APIException("CSV header must contain productName and categoryId or categoryName");
+        }
+
+        long row = 0;
+        List<String> record;
+        while ((record = readCsvRecord(reader)) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            ImportRow importRow = new ImportRow(++row);
+            context.response.setTotalRows(row);
+            importRow.productName = csvValue(record, columns, "productname");
+            importRow.description = csvValue(record, columns, "description");
+            importRow.image = csvValue(record, columns, "image");
+            importRow.categoryName = csvValue(record, columns, "categoryname");
+            try {
+                importRow.categoryId = parseLong(csvValue(record, columns, "categoryid"));
+                importRow.quantity = parseInteger(csvValue(record, columns, "quantity"));
+                importRow.price = parseDouble(csvValue(record, columns, "price"));
+                importRow.discount = parseDouble(csvValue(record, columns, "discount"));
+            } catch (NumberFormatException e) {
+                reject(context, importRow, "Invalid number: " + e.getMessage());
+                continue;
+            }
+            accept(context, importRow);
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, ImportContext context) throws IOException {
+        long row = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            ImportRow importRow = new ImportRow(++row);
+            context.response.setTotalRows(row);
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (IOException e) {
+                reject(context, importRow, "Malformed JSON line");
+                continue;
+            }
+            importRow.productName = jsonText(node, "productName");
+            importRow.description = jsonText(node, "description");
+            importRow.image = jsonText(node, "image");
+            importRow.categoryName = jsonText(node, "categoryName");
+            try {
+                importRow.categoryId = parseLong(jsonText(node, "categoryId"));
+                importRow.quantity = parseInteger(jsonText(node, "quantity"));
+                importRow.price = parseDouble(jsonText(node, "price"));
+                importRow.discount = parseDouble(jsonText(node, "discount"));
+            } catch (NumberFormatException e) {
+                reject(context, importRow, "Invalid number: " + e.getMessage());
+                continue;
+            }
+            accept(context, importRow);
+        }
+    }
+
+    private void accept(ImportContext context, ImportRow row) {
+        Category category = row.categoryId != null
+                ? context.categoriesById.get(row.categoryId)
+                : row.categoryName != null ? context.categoriesByName.get(row.categoryName.toLowerCase()) : null;
+        if (category == null) {
+            reject(context, row, "Category not found");
+            return;
+        }
+        if (row.productName == null || row.productName.length() < 3) {
+            reject(context, row, "Product name must contain atleast 3 characters");
+            return;
+        }
+        if (row.description == null || row.description.length() < 6) {
+            reject(context, row, "Product description must contain atleast 6 characters");
+            return;
+        }
+        if (row.price == null || row.price < 0) {
+            reject(context, row, "Price must be zero or greater");
+            return;
+        }
+        double discount = row.discount != null ? row.discount : 0;
+        if (discount < 0 || discount > 100) {
+            reject(context, row, "Discount must be between 0 and 100");
+            return;
+        }
+        int quantity = row.quantity != null ? row.quantity : 0;
+        if (quantity < 0) {
+            reject(context, row, "Quantity must be zero or greater");
+            return;
+        }
+
+        Set<String> names = context.productNames.computeIfAbsent(category.getCategoryId(),
+                id -> new HashSet<>(productRepository.findProductNamesByCategoryId(id)));
+        if (!names.add(row.productName)) {
+            reject(context, row, "Product already exist!!");
+            return;
+        }
+
+        Product product = new Product();
+        product.setProductName(row.productName);
+        product.setDescription(row.description);
+        product.setImage(row.image != null && !row.image.isEmpty() ? row.image : AppConstants.DEFAULT_PRODUCT_IMAGE);
+        product.setQuantity(quantity);
+        product.setPrice(row.price);
+        product.setDiscount(discount);
+        product.setSpecialPrice(row.price - ((discount * 0.01) * row.price));
+        product.setCategory(category);
+
+        context.pendingProducts.add(product);
+        context.pendingRows.add(row);
+        if (context.pendingProducts.size() >= batchSize) {
+            flushChunk(context);
+        }
+    }
+
+    private void flushChunk(ImportContext context) {
+        if (context.pendingProducts.isEmpty()) {
+            return;
+        }
+        List<Product> products = context.pendingProducts;
+        List<ImportRow> rows = context.pendingRows;
+        context.pendingProducts = new ArrayList<>(batchSize);
+        context.pendingRows = new ArrayList<>(batchSize);
+
+        try {
+            writeChunk(products);
+            context.response.setImported(context.response.getImported() + products.size());
+        } catch (DataAccessException | PersistenceException | TransactionException | ConstraintViolationException e) {
+            log.warn("Product import chunk of {} rows rolled back, retrying row by row: {}", products.size(), failureMessage(e));
+            retryRowByRow(context, products, rows);
+        }
+    }
+
+    // one bad row should not cost the rest of its chunk: each row gets its own transaction and only
+    // the rows that fail again are reported
+    private void retryRowByRow(ImportContext context, List<Product> products, List<ImportRow> rows) {
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            ImportRow row = rows.get(i);
+            // the id handed out before the rollback was never committed
+            product.setProductId(null);
+            try {
+                writeChunk(List.of(product));
+                context.response.setImported(context.response.getImported() + 1);
+            } catch (DataAccessException | PersistenceException | TransactionException | ConstraintViolationException e) {
+                context.productNames.get(product.getCategory().getCategoryId()).remove(row.productName);
+                reject(context, row, "Row rolled back: " + failureMessage(e));
+            }
+        }
+    }
+
+    private void writeChunk(List<Product> products) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            productRepository.saveAll(products);
+            entityManager.flush();
+            catalogChangeService.recordProductChanges(
+                    products.stream().map(Product::getProductId).toList(), CatalogChangeType.UPSERT);
+            entityManager.clear();
+        });
+    }
+
+    private String failureMessage(RuntimeException e) {
+        if (e instanceof ConstraintViolationException violations) {
+            return violations.getConstraintViolations().stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        return NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+    }
+
+    private void reject(ImportContext context, ImportRow row, String message) {
+        context.response.setFailed(context.response.getFailed() + 1);
+        if (context.response.getErrors().size() < maxErrors) {
+            context.response.getErrors().add(new ProductImportErrorDTO(row.row, row.productName, message));
+        }
+    }
+
+    // RFC 4180 record: quoted fields may contain commas, doubled quotes and line breaks
+    private List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private String csvValue(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private String jsonText(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        String text = value.asText().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private Long parseLong(String value) {
+        return value != null ? Long.valueOf(value) : null;
+    }
+
+    private Integer parseInteger(String value) {
+        return value != null ? Integer.valueOf(value) : null;
+    }
+
+    private Double parseDouble(String value) {
+        return value != null ? Double.valueOf(value) : null;
+    }
+
+    private static class ImportContext {
+        private final ProductImportResponse response = new ProductImportResponse();
+        private final Map<Long, Category> categoriesById = new HashMap<>();
+        private final Map<String, Category> categoriesByName = new HashMap<>();
+        private final Map<Long, Set<String>> productNames = new HashMap<>();
+        private List<Product> pendingProducts = new ArrayList<>();
+        private List<ImportRow> pendingRows = new ArrayList<>();
+    }
+
+    private static class ImportRow {
+        private final long row;
+        private String productName;
+        private String description;
+        private String image;
+        private Long categoryId;
+        private String categoryName;
+        private Integer quantity;
+        private Double price;
+        private Double discount;
+
+        private ImportRow(long row) {
+            this.row = row;
+        }
+    }
+}
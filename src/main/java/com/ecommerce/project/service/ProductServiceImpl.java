@@ -1,7 +1,12 @@
 package com.ecommerce.project.service;
 
+import com.ecommerce.project.config.AppConstants;
 import com.ecommerce.project.exceptions.APIException;
 import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.mapper.CartMapper;
+import com.ecommerce.project.mapper.ProductMapper;
+import com.ecommerce.project.model.CatalogChangeType;
+import com.ecommerce.project.model.CatalogEntityType;
 import com.ecommerce.project.model.Cart;
 import com.ecommerce.project.model.Category;
 import com.ecommerce.project.model.Product;
@@ -11,21 +16,29 @@ import com.ecommerce.project.payload.ProductResponse;
 import com.ecommerce.project.repositories.CartRepository;
 import com.ecommerce.project.repositories.CategoryRepository;
 import com.ecommerce.project.repositories.ProductRepository;
-import org.modelmapper.ModelMapper;
+import com.ecommerce.project.util.SingleFlight;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 public class ProductServiceImpl implements ProductService {
 
@@ -42,7 +55,10 @@ public class ProductServiceImpl implements ProductService {
     private CategoryRepository categoryRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private ProductMapper productMapper;
+
+    @Autowired
+    private CartMapper cartMapper;
 
     @Autowired
     private FileService fileService;
@@ -50,43 +66,58 @@ public class ProductServiceImpl implements ProductService {
     @Autowired
     private ImageService imageService;
 
+    @Autowired
+    private CatalogChangeService catalogChangeService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SingleFlight<List<Object>, ProductResponse> productQueries = new SingleFlight<>();
+
     @Override
+    @Transactional
     public ProductDTO addProduct(Long categoryId, ProductDTO productDTO) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Category", "categoryId", categoryId));
 
-        boolean isProductNotPresent = true;
-
-        List<Product> products = category.getProducts();
-        for (Product value : products) {
-            if (value.getProductName().equals(productDTO.getProductName())) {
-                isProductNotPresent = false;
-                break;
-            }
+        // served by the (category_id, product_name) unique index, no products are loaded
+        if (productRepository.existsByCategoryCategoryIdAndProductName(categoryId, productDTO.getProductName())) {
+            throw new APIException("Product already exist!!");
         }
 
-        if (isProductNotPresent) {
-            Product product = modelMapper.map(productDTO, Product.class);
-            String defaultImageUrl = "https://res.cloudinary.com/drbhr7kmb/image/upload/v1754286944/default_o4fznm.png";
-            String imageUrl = (productDTO.getImage() != null && !productDTO.getImage().isEmpty())
-                    ? productDTO.getImage()
-                    : defaultImageUrl;
-            product.setImage(imageUrl);
-            product.setCategory(category);
-            double specialPrice = product.getPrice() -
-                    ((product.getDiscount() * 0.01) * product.getPrice());
-            product.setSpecialPrice(specialPrice);
-            Product savedProduct = productRepository.save(product);
-            return modelMapper.map(savedProduct, ProductDTO.class);
-        } else {
+        Product product = productMapper.toProduct(productDTO);
+        String imageUrl = (productDTO.getImage() != null && !productDTO.getImage().isEmpty())
+                ? productDTO.getImage()
+                : AppConstants.DEFAULT_PRODUCT_IMAGE;
+        product.setImage(imageUrl);
+        product.setCategory(category);
+        double specialPrice = product.getPrice() -
+                ((product.getDiscount() * 0.01) * product.getPrice());
+        product.setSpecialPrice(specialPrice);
+        Product savedProduct;
+        try {
+            savedProduct = productRepository.saveAndFlush(product);
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent request inserted the same name between the check and the insert
             throw new APIException("Product already exist!!");
         }
+        catalogChangeService.recordChange(CatalogEntityType.PRODUCT, savedProduct.getProductId(), CatalogChangeType.UPSERT);
+        return productMapper.toProductDTO(savedProduct);
     }
 
 
     @Override
+    @Timed(value = "catalog.products.query", extraTags = {"query", "listing"}, histogram = true)
     public ProductResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String keyword, String category) {
+        // identical concurrent listings (e.g. a campaign link) share one query and count
+        List<Object> key = Arrays.asList("products", keyword != null ? keyword.toLowerCase() : null, category,
+                pageNumber, pageSize, sortBy, sortOrder.toLowerCase());
+        return productQueries.execute(key,
+                () -> loadAllProducts(pageNumber, pageSize, sortBy, sortOrder, keyword, category));
+    }
+
+    private ProductResponse loadAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String keyword, String category) {
 
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
                 ? Sort.by(sortBy).ascending()
@@ -112,7 +143,7 @@ public class ProductServiceImpl implements ProductService {
         //transformation of the list of product into productResponse
         List<ProductDTO> productDTOS = products.stream()
                 .map(product -> {
-                    ProductDTO productDTO = modelMapper.map(product, ProductDTO.class);
+                    ProductDTO productDTO = productMapper.toProductDTO(product);
                     //productDTO.setImage(constructImageUrl(product.getImage()));
                     productDTO.setImage(product.getImage());
                     return productDTO;
@@ -130,7 +161,14 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Timed(value = "catalog.products.query", extraTags = {"query", "category"}, histogram = true)
     public ProductResponse searchByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+        List<Object> key = Arrays.asList("category", categoryId, pageNumber, pageSize, sortBy, sortOrder.toLowerCase());
+        return productQueries.execute(key,
+                () -> loadProductsByCategory(categoryId, pageNumber, pageSize, sortBy, sortOrder));
+    }
+
+    private ProductResponse loadProductsByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Category", "categoryId", categoryId));
@@ -144,7 +182,7 @@ public class ProductServiceImpl implements ProductService {
         List<Product> products = pageProducts.getContent();
 
         List<ProductDTO> productDTOS = products.stream()
-                .map(product -> modelMapper.map(product, ProductDTO.class))
+                .map(product -> productMapper.toProductDTO(product))
                 .toList();
 
         if (products.isEmpty()) {
@@ -162,6 +200,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Timed(value = "catalog.products.query", extraTags = {"query", "keyword"}, histogram = true)
     public ProductResponse searchProductKeyword(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
 
         Sort sortByAndOrder = sortOrder.equalsIgnoreCase("asc")
@@ -173,7 +212,7 @@ public class ProductServiceImpl implements ProductService {
 
         List<Product> products = pageProducts.getContent();
         List<ProductDTO> productDTOS = products.stream()
-                .map(product -> modelMapper.map(product, ProductDTO.class))
+                .map(product -> productMapper.toProductDTO(product))
                 .toList();
 
         if (products.isEmpty()) {
@@ -191,12 +230,13 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional
     public ProductDTO updateProduct(Long productId, ProductDTO productDTO) {
         // Get the existing product from DB
         Product productFromDb = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
 
-        Product product = modelMapper.map(productDTO, Product.class);
+        Product product = productMapper.toProduct(productDTO);
 
         // Update the product info with the one in request body
         productFromDb.setProductName(product.getProductName());
@@ -208,14 +248,15 @@ public class ProductServiceImpl implements ProductService {
 
         // Save to database
         Product savedProduct = productRepository.save(productFromDb);
+        catalogChangeService.recordChange(CatalogEntityType.PRODUCT, productId, CatalogChangeType.UPSERT);
 
         List<Cart> carts = cartRepository.findCartsByProductId(productId);
 
         List<CartDTO> cartDTOs = carts.stream().map(cart -> {
-            CartDTO cartDTO = modelMapper.map(cart, CartDTO.class);
+            CartDTO cartDTO = cartMapper.toCartDTO(cart);
 
             List<ProductDTO> products = cart.getCartItems().stream()
-                    .map(p -> modelMapper.map(p.getProduct(), ProductDTO.class)).collect(Collectors.toList());
+                    .map(p -> productMapper.toProductDTO(p.getProduct())).collect(Collectors.toList());
 
             cartDTO.setProducts(products);
 
@@ -224,11 +265,12 @@ public class ProductServiceImpl implements ProductService {
         }).collect(Collectors.toList());
 
         cartDTOs.forEach(cart -> cartService.updateProductInCarts(cart.getCartId(), productId));
-        //modelMapper converts the savedProduct into ProductDTO class
-        return modelMapper.map(savedProduct, ProductDTO.class);
+        //productMapper converts the savedProduct into ProductDTO class
+        return productMapper.toProductDTO(savedProduct);
     }
 
     @Override
+    @Transactional
     public ProductDTO deleteProduct(Long productId) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
@@ -238,38 +280,45 @@ public class ProductServiceImpl implements ProductService {
         carts.forEach(cart -> cartService.deleteProductFromCart(cart.getCartId(), productId));
 
         productRepository.delete(product);
-        return modelMapper.map(product, ProductDTO.class);
+        catalogChangeService.recordChange(CatalogEntityType.PRODUCT, productId, CatalogChangeType.DELETE);
+        return productMapper.toProductDTO(product);
     }
 
+    // Not transactional: the upload can take up to cloudinary.timeout-seconds and must not hold a
+    // pooled connection. Only the product update after it runs in a (short) transaction.
     @Override
     public ProductDTO updateProductImage(Long productId, MultipartFile image) throws IOException {
 
-        System.out.println("收到圖片請求");
-        if (image != null) {
-            System.out.println("圖片名稱: " + image.getOriginalFilename());
-            System.out.println("圖片大小: " + image.getSize() + " bytes");
-        } else {
-            System.out.println("沒有收到檔案");
+        if (log.isDebugEnabled()) {
+            log.debug("Image upload for product {}: {}", productId,
+                    image != null ? image.getOriginalFilename() + " (" + image.getSize() + " bytes)" : "no file received");
+        }
+        // fail before uploading anything for a product that does not exist
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product", "productId", productId);
         }
-        // Get the product from DB
-        Product productFromDb = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
 
         // Upload image to server
         // Get the file name of uploaded image
         //String fileName = fileService.uploadImage(path, image);
         String imageUrl = imageService.upload(image);
 
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            // Get the product from DB
+            Product productFromDb = productRepository.findById(productId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
 
-        // Updating the new file name to the product
-        //productFromDb.setImage(fileName);
-        productFromDb.setImage(imageUrl);
+            // Updating the new file name to the product
+            //productFromDb.setImage(fileName);
+            productFromDb.setImage(imageUrl);
 
-        // Save updated product
-        Product updatedProduct = productRepository.save(productFromDb);
+            // Save updated product
+            Product updatedProduct = productRepository.save(productFromDb);
+            catalogChangeService.recordChange(CatalogEntityType.PRODUCT, productId, CatalogChangeType.UPSERT);
 
-        // return DTO after mapping product to DTO
-        return modelMapper.map(updatedProduct, ProductDTO.class);
+            // return DTO after mapping product to DTO
+            return productMapper.toProductDTO(updatedProduct);
+        });
     }
 
 
@@ -0,0 +1,17 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.DailySalesReportDTO;
+import com.ecommerce.project.payload.SalesReportDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ReportService {
+    List<DailySalesReportDTO> getDailySales(LocalDate from, LocalDate to);
+
+    List<SalesReportDTO> getProductSales(LocalDate from, LocalDate to, Integer limit);
+
+    List<SalesReportDTO> getCategorySales(LocalDate from, LocalDate to, Integer limit);
+
+    List<SalesReportDTO> getSellerSales(LocalDate from, LocalDate to, Integer limit);
+}
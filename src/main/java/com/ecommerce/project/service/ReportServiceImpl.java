@@ -0,0 +1,58 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.model.SalesRollupType;
+import com.ecommerce.project.payload.DailySalesReportDTO;
+import com.ecommerce.project.payload.SalesReportDTO;
+import com.ecommerce.project.repositories.SalesRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Reads only sales_rollups; orders/order_items are never scanned for reporting
+@Service
+public class ReportServiceImpl implements ReportService {
+
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+
+    @Value("${report.max-limit}")
+    private int maxLimit;
+
+    @Override
+    public List<DailySalesReportDTO> getDailySales(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return salesRollupRepository.findDailySales(from, to);
+    }
+
+    @Override
+    public List<SalesReportDTO> getProductSales(LocalDate from, LocalDate to, Integer limit) {
+        return getSales(SalesRollupType.PRODUCT, from, to, limit);
+    }
+
+    @Override
+    public List<SalesReportDTO> getCategorySales(LocalDate from, LocalDate to, Integer limit) {
+        return getSales(SalesRollupType.CATEGORY, from, to, limit);
+    }
+
+    @Override
+    public List<SalesReportDTO> getSellerSales(LocalDate from, LocalDate to, Integer limit) {
+        return getSales(SalesRollupType.SELLER, from, to, limit);
+    }
+
+    private List<SalesReportDTO> getSales(SalesRollupType type, LocalDate from, LocalDate to, Integer limit) {
+        validateRange(from, to);
+        int pageSize = Math.min(Math.max(limit, 1), maxLimit);
+        return salesRollupRepository.findSalesByDimension(type, from, to, PageRequest.of(0, pageSize));
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new APIException("Report start date " + from + " is after end date " + to);
+        }
+    }
+}
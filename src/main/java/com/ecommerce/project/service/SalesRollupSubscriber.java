@@ -0,0 +1,95 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.OutboxEvent;
+import com.ecommerce.project.model.OutboxEventType;
+import com.ecommerce.project.model.SalesRollup;
+import com.ecommerce.project.model.SalesRollupEvent;
+import com.ecommerce.project.model.SalesRollupType;
+import com.ecommerce.project.payload.OrderEventDTO;
+import com.ecommerce.project.payload.OrderEventItemDTO;
+import com.ecommerce.project.repositories.SalesRollupEventRepository;
+import com.ecommerce.project.repositories.SalesRollupRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+// Folds each ORDER_PLACED event into the daily/product/category/seller rows of sales_rollups
+@Service
+public class SalesRollupSubscriber implements OutboxEventSubscriber {
+
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+
+    @Autowired
+    private SalesRollupEventRepository salesRollupEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(OutboxEventType eventType) {
+        return eventType == OutboxEventType.ORDER_PLACED;
+    }
+
+    @Override
+    @Transactional
+    public void handle(OutboxEvent event) {
+        if (salesRollupEventRepository.existsById(event.getEventId())) {
+            return;
+        }
+
+        OrderEventDTO order;
+        try {
+            order = objectMapper.readValue(event.getPayload(), OrderEventDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed ORDER_PLACED payload for event " + event.getEventId(), e);
+        }
+
+        LocalDate salesDate = order.getOrderDate();
+        long unitsSold = 0;
+        double orderRevenue = 0;
+        Map<Long, double[]> byProduct = new HashMap<>();
+        Map<Long, double[]> byCategory = new HashMap<>();
+        Map<Long, double[]> bySeller = new HashMap<>();
+
+        for (OrderEventItemDTO item : order.getItems()) {
+            double revenue = item.getUnitPrice() * item.getQuantity();
+            unitsSold += item.getQuantity();
+            orderRevenue += revenue;
+            accumulate(byProduct, item.getProductId(), item.getQuantity(), revenue);
+            accumulate(byCategory, item.getCategoryId(), item.getQuantity(), revenue);
+            accumulate(bySeller, item.getSellerId(), item.getQuantity(), revenue);
+        }
+
+        // revenue is unit price x quantity everywhere, so the product, category and seller rows of a day add
+        // up to its DAILY row (the order total is the cart total and may drift from its lines)
+        apply(SalesRollupType.DAILY, salesDate, 0L, unitsSold, orderRevenue);
+        byProduct.forEach((id, totals) -> apply(SalesRollupType.PRODUCT, salesDate, id, (long) totals[0], totals[1]));
+        byCategory.forEach((id, totals) -> apply(SalesRollupType.CATEGORY, salesDate, id, (long) totals[0], totals[1]));
+        bySeller.forEach((id, totals) -> apply(SalesRollupType.SELLER, salesDate, id, (long) totals[0], totals[1]));
+
+        salesRollupEventRepository.save(new SalesRollupEvent(event.getEventId()));
+    }
+
+    private void accumulate(Map<Long, double[]> totals, Long dimensionId, int quantity, double revenue) {
+        if (dimensionId == null) {
+            return;
+        }
+        double[] row = totals.computeIfAbsent(dimensionId, id -> new double[2]);
+        row[0] += quantity;
+        row[1] += revenue;
+    }
+
+    private void apply(SalesRollupType type, LocalDate salesDate, Long dimensionId, long unitsSold, double revenue) {
+        int updated = salesRollupRepository.increment(type, salesDate, dimensionId, 1, unitsSold, revenue);
+        if (updated == 0) {
+            salesRollupRepository.save(new SalesRollup(type, salesDate, dimensionId, 1, unitsSold, revenue));
+        }
+    }
+}
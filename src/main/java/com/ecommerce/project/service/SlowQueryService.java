@@ -0,0 +1,17 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.SlowQueryDTO;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+public interface SlowQueryService {
+    long thresholdNanos();
+
+    // dataSource is the uninstrumented pool, used for the EXPLAIN
+    void record(String sql, List<Object> parameters, long elapsedNanos, DataSource dataSource);
+
+    List<SlowQueryDTO> getSlowQueries(Integer limit);
+
+    void reset();
+}
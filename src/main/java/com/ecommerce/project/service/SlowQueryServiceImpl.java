@@ -0,0 +1,210 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.payload.SlowQueryDTO;
+import com.ecommerce.project.util.SqlShapes;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// Statements slower than the threshold, aggregated per normalized SQL shape. Each occurrence is
+// logged with its (redacted) bind values and the application method that issued it; the first
+// occurrence of a SELECT shape is EXPLAINed once on a background thread with the same binds.
+@Slf4j
+@Service
+public class SlowQueryServiceImpl implements SlowQueryService {
+
+    private static final String REDACTED = "****";
+    private static final int MAX_VALUE_LENGTH = 100;
+
+    @Value("${db.slow-query.threshold-ms}")
+    private long thresholdMs;
+
+    @Value("${db.slow-query.explain}")
+    private boolean explain;
+
+    @Value("${db.slow-query.max-shapes}")
+    private int maxShapes;
+
+    @Value("${db.slow-query.redact-columns}")
+    private String redactColumns;
+
+    private long thresholdNanos;
+    private Pattern redactPattern;
+
+    private final ConcurrentHashMap<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+
+    // a single daemon thread and a short queue: plans are a diagnostic, they must never add load
+    private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(16), runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    @PostConstruct
+    public void init() {
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        redactPattern = Pattern.compile(redactColumns, Pattern.CASE_INSENSITIVE);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    @Override
+    public long thresholdNanos() {
+        return thresholdNanos;
+    }
+
+    @Override
+    public void record(String sql, List<Object> parameters, long elapsedNanos, DataSource dataSource) {
+        String shape = SqlShapes.normalize(sql);
+        String caller = caller();
+        List<String> shownParameters = redact(sql, parameters);
+        log.warn("Slow query ({} ms) from {}: {} {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), caller, shape, shownParameters);
+
+        ShapeStats stats = shapes.get(shape);
+        if (stats == null) {
+            if (shapes.size() >= maxShapes) {
+                return;
+            }
+            stats = shapes.computeIfAbsent(shape, key -> new ShapeStats());
+        }
+        stats.add(elapsedNanos, caller, shownParameters);
+
+        if (explain && stats.claimExplain() && SqlShapes.isSelect(sql)) {
+            List<Object> binds = new ArrayList<>(parameters);
+            ShapeStats target = stats;
+            explainExecutor.execute(() -> target.plan = explain(dataSource, sql, binds));
+        }
+    }
+
+    @Override
+    public List<SlowQueryDTO> getSlowQueries(Integer limit) {
+        // never more shapes than are kept
+        int size = Math.min(Math.max(limit, 1), maxShapes);
+        return shapes.entrySet().stream()
+                .map(entry -> entry.getValue().toDTO(entry.getKey()))
+                .sorted(Comparator.comparing(SlowQueryDTO::getTotalMs).reversed())
+                .limit(size)
+                .toList();
+    }
+
+    @Override
+    public void reset() {
+        shapes.clear();
+    }
+
+    // innermost application frame, skipping Spring proxies and this instrumentation
+    private String caller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("com.ecommerce.project.")
+                        && !frame.getClassName().contains("$$")
+                        && !frame.getClassName().startsWith("com.ecommerce.project.config.DataSourceInstrumentation")
+                        && !frame.getClassName().equals(SlowQueryServiceImpl.class.getName()))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("unknown"));
+    }
+
+    // fails closed: a bind is shown only when its column is known and not sensitive. If the columns do
+    // not line up with the binds, none of them can be trusted.
+    private List<String> redact(String sql, List<Object> parameters) {
+        List<String> columns = SqlShapes.parameterColumns(sql);
+        boolean aligned = columns.size() == parameters.size();
+        List<String> shown = new ArrayList<>(parameters.size());
+        for (int i = 0; i < parameters.size(); i++) {
+            String column = aligned ? columns.get(i) : null;
+            shown.add(column == null || redactPattern.matcher(column).matches() ? REDACTED : format(parameters.get(i)));
+        }
+        return shown;
+    }
+
+    private String format(Object value) {
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        if (value instanceof String text) {
+            return "'" + (text.length() > MAX_VALUE_LENGTH ? text.substring(0, MAX_VALUE_LENGTH) + "..." : text) + "'";
+        }
+        return String.valueOf(value);
+    }
+
+    private String explain(DataSource dataSource, String sql, List<Object> binds) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            connection.setReadOnly(true);
+            statement.setQueryTimeout(5);
+            for (int i = 0; i < binds.size(); i++) {
+                statement.setObject(i + 1, binds.get(i));
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery()) {
+                ResultSetMetaData meta = rows.getMetaData();
+                while (rows.next()) {
+                    for (int column = 1; column <= meta.getColumnCount(); column++) {
+                        plan.append(column > 1 ? ", " : "").append(meta.getColumnLabel(column)).append('=').append(rows.getString(column));
+                    }
+                    plan.append('\n');
+                }
+            }
+            return plan.toString().trim();
+        } catch (SQLException | RuntimeException e) {
+            log.debug("EXPLAIN failed for {}", sql, e);
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    private static class ShapeStats {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private String lastCaller;
+        private List<String> lastParameters;
+        private LocalDateTime lastSeen;
+        private boolean explainClaimed;
+        private volatile String plan;
+
+        synchronized void add(long nanos, String caller, List<String> parameters) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            lastCaller = caller;
+            lastParameters = parameters;
+            lastSeen = LocalDateTime.now();
+        }
+
+        synchronized boolean claimExplain() {
+            if (explainClaimed) {
+                return false;
+            }
+            explainClaimed = true;
+            return true;
+        }
+
+        synchronized SlowQueryDTO toDTO(String shape) {
+            return new SlowQueryDTO(shape, count, totalNanos / 1_000_000.0, totalNanos / 1_000_000.0 / count,
+                    maxNanos / 1_000_000.0, lastCaller, lastParameters, lastSeen, plan);
+        }
+    }
+}
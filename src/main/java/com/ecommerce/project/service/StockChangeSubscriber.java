@@ -0,0 +1,31 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.OutboxEvent;
+import com.ecommerce.project.model.OutboxEventType;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// Records the stock-only catalog change for each STOCK_ADJUSTED event. Done here rather than in the
+// checkout transaction, so a checkout never waits on the catalog_versions row lock (and never takes it
+// after its product row locks, the opposite order to admin writes). A redelivered event only records
+// one more UPSERT of the same product, which delta clients apply again harmlessly.
+@Service
+public class StockChangeSubscriber implements OutboxEventSubscriber {
+
+    @Autowired
+    private CatalogChangeService catalogChangeService;
+
+    @Override
+    public boolean supports(OutboxEventType eventType) {
+        return eventType == OutboxEventType.STOCK_ADJUSTED;
+    }
+
+    @Override
+    @Transactional
+    public void handle(OutboxEvent event) {
+        catalogChangeService.recordStockChanges(List.of(event.getAggregateId()));
+    }
+}
@@ -5,24 +5,34 @@ import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
 import com.stripe.param.PaymentIntentCreateParams;
+import io.micrometer.core.annotation.Timed;
 import jakarta.annotation.PostConstruct;
-import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+// No @Transactional: nothing here touches the database, and a transaction would hold a pooled
+// connection for the whole Stripe round trip.
 @Service
-@Transactional
 public class StripeServiceImpl implements StripeService{
 
     @Value("${stripe.secret.key}")
     private  String stripeApiKey;
 
+    @Value("${payment.http.connect-timeout-ms}")
+    private int connectTimeoutMs;
+
+    @Value("${payment.http.read-timeout-ms}")
+    private int readTimeoutMs;
+
     @PostConstruct
     public void init(){
         Stripe.apiKey=stripeApiKey;
+        Stripe.setConnectTimeout(connectTimeoutMs);
+        Stripe.setReadTimeout(readTimeoutMs);
     }
 
     @Override
+    @Timed(value = "payment.gateway", extraTags = {"gateway", "stripe", "operation", "payment_intent"}, histogram = true)
     public PaymentIntent paymentIntent(StripePaymentDTO stripePaymentDTO) throws StripeException {
 
         PaymentIntentCreateParams params =
@@ -0,0 +1,232 @@
+package com.ecommerce.project.util;
+
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.config.CatalogETagInterceptor;
+import com.ecommerce.project.service.CatalogChangeService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+// Pre-serialized JSON (and gzip) for hot catalog pages, kept in front of the controllers: preHandle
+// answers a hit from the stored bytes without calling the service or serializing anything, and
+// CatalogHttpCachingAdvice hands over the body of a 200 miss as it is written. Entries are stamped with
+// the products version read before the page was built, so any catalog write turns them into misses
+// and stock changes do within catalog.products.stock-refresh-ms.
+// The map is an LRU bounded by total bytes.
+@Component
+public class CatalogResponseCache implements HandlerInterceptor {
+
+    private static final String PENDING_ENTRY = CatalogResponseCache.class.getName() + ".pending";
+    // matched case-insensitively by the product queries, so "Phone" and "phone" share an entry
+    private static final Set<String> CASE_INSENSITIVE_PARAMETERS = Set.of("keyword", "sortOrder");
+
+    @Autowired
+    private CatalogChangeService catalogChangeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${catalog.response-cache.enabled}")
+    private boolean enabled;
+
+    @Value("${catalog.response-cache.max-bytes}")
+    private long maxBytes;
+
+    @Value("${catalog.response-cache.gzip-min-bytes}")
+    private int gzipMinBytes;
+
+    @Value("${catalog.response-cache.max-page}")
+    private int maxPage;
+
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter identityBytes;
+    private final Counter gzipBytes;
+
+    public CatalogResponseCache(MeterRegistry meterRegistry) {
+        hits = meterRegistry.counter("catalog.response.cache", "result", "hit");
+        misses = meterRegistry.counter("catalog.response.cache", "result", "miss");
+        identityBytes = meterRegistry.counter("catalog.response.cache.bytes.served", "encoding", "identity");
+        gzipBytes = meterRegistry.counter("catalog.response.cache.bytes.served", "encoding", "gzip");
+        Gauge.builder("catalog.response.cache.hit.ratio", this, CatalogResponseCache::hitRatio).register(meterRegistry);
+        Gauge.builder("catalog.response.cache.size.bytes", this, CatalogResponseCache::sizeBytes).register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!enabled || !HttpMethod.GET.matches(request.getMethod()) || !isHotPage(request.getParameter("pageNumber"))) {
+            return true;
+        }
+        String key = key(request);
+        long version = catalogChangeService.currentProductsVersion();
+        CachedResponse cached = lookup(key, version);
+        if (cached == null) {
+            misses.increment();
+            request.setAttribute(PENDING_ENTRY, new PendingEntry(key, version));
+            return true;
+        }
+        hits.increment();
+
+        CatalogETagInterceptor.applyHeaders(request, response);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        byte[] body = cached.json();
+        if (cached.gzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = cached.gzip();
+            gzipBytes.increment(body.length);
+        } else {
+            identityBytes.increment(body.length);
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return false;
+    }
+
+    // the body of a 200 response to a request that missed in preHandle; anything else is ignored
+    public void store(HttpServletRequest request, HttpServletResponse response, Object body) {
+        if (!(request.getAttribute(PENDING_ENTRY) instanceof PendingEntry pending)) {
+            return;
+        }
+        request.removeAttribute(PENDING_ENTRY);
+        // later hits may be gzipped
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        byte[] json = serialize(body);
+        store(pending.key(), new CachedResponse(pending.version(), json, json.length >= gzipMinBytes ? gzip(json) : null));
+    }
+
+    // deep pagination is rarely repeated, only the first pages are worth holding
+    boolean isHotPage(String pageNumber) {
+        try {
+            return Integer.parseInt(pageNumber != null ? pageNumber : AppConstants.PAGE_NUMBER) <= maxPage;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // path plus the parameters sorted by name, so their order does not split entries
+    static String key(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+            String[] normalised = CASE_INSENSITIVE_PARAMETERS.contains(name)
+                    ? Arrays.stream(values).map(value -> value.toLowerCase(Locale.ROOT)).toArray(String[]::new)
+                    : values.clone();
+            Arrays.sort(normalised);
+            key.append('&').append(name).append('=').append(String.join(",", normalised));
+        });
+        return key.toString();
+    }
+
+    // gzip (or *) with a q-value above zero; "gzip;q=0" refuses it even when * is accepted
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzip = quality;
+            } else if (name.equals("*")) {
+                any = quality;
+            }
+        }
+        double quality = gzip != null ? gzip : any != null ? any : 0;
+        return quality > 0;
+    }
+
+    private synchronized CachedResponse lookup(String key, long version) {
+        CachedResponse response = entries.get(key);
+        if (response == null || response.version() != version) {
+            return null;
+        }
+        return response;
+    }
+
+    private synchronized void store(String key, CachedResponse response) {
+        if (response.size() > maxBytes) {
+            return;
+        }
+        CachedResponse previous = entries.put(key, response);
+        if (previous != null) {
+            totalBytes -= previous.size();
+        }
+        totalBytes += response.size();
+
+        Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().size();
+            eldest.remove();
+        }
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize catalog response", e);
+        }
+    }
+
+    private byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private synchronized double sizeBytes() {
+        return totalBytes;
+    }
+
+    private record PendingEntry(String key, long version) {
+    }
+
+    private record CachedResponse(long version, byte[] json, byte[] gzip) {
+        long size() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.project.util;
+
+// JDBC work done by the current request: statements executed, time spent executing them and time
+// spent waiting for a pool connection. DbTimingFilter opens it on the request thread and the
+// instrumented DataSource adds to it; work on other threads (jobs, async dispatches) is not counted.
+public final class DbRequestStats {
+
+    private static final ThreadLocal<DbRequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long statementNanos;
+    private long connectionWaitNanos;
+
+    private DbRequestStats() {
+    }
+
+    public static DbRequestStats start() {
+        DbRequestStats stats = new DbRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    // null outside a request, or when DB instrumentation is off
+    public static DbRequestStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static void recordStatement(long nanos) {
+        DbRequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.statementNanos += nanos;
+        }
+    }
+
+    public static void recordConnectionWait(long nanos) {
+        DbRequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.connectionWaitNanos += nanos;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getStatementNanos() {
+        return statementNanos;
+    }
+
+    public long getConnectionWaitNanos() {
+        return connectionWaitNanos;
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.project.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+// Times consecutive phases of one operation: each end(phase) records the time since the previous
+// mark into the same timer name, tagged with the phase.
+public class PhaseTimer {
+
+    private final MeterRegistry meterRegistry;
+    private final String name;
+    private long mark;
+
+    private PhaseTimer(MeterRegistry meterRegistry, String name) {
+        this.meterRegistry = meterRegistry;
+        this.name = name;
+        this.mark = System.nanoTime();
+    }
+
+    public static PhaseTimer start(MeterRegistry meterRegistry, String name) {
+        return new PhaseTimer(meterRegistry, name);
+    }
+
+    public void end(String phase) {
+        long now = System.nanoTime();
+        meterRegistry.timer(name, "phase", phase).record(now - mark, TimeUnit.NANOSECONDS);
+        mark = now;
+    }
+}
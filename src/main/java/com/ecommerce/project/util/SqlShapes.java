@@ -0,0 +1,59 @@
+package com.ecommerce.project.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// SQL text helpers for the slow-query log. Only Hibernate's generated SQL has to be understood, so
+// these are regex heuristics, not a parser.
+public final class SqlShapes {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Pattern INSERT_COLUMNS =
+            Pattern.compile("^\\s*insert\\s+into\\s+\\S+\\s*\\(([^)]*)\\)\\s*values\\s*\\(", Pattern.CASE_INSENSITIVE);
+    // the column a placeholder is compared with: "p1_0.email=?", "lower(p1_0.product_name) like ?"
+    private static final Pattern COMPARED_COLUMN =
+            Pattern.compile("([A-Za-z_][\\w.]*)\\)?\\s*(?:=|<>|!=|<=|>=|<|>|\\s+like|\\s+in\\s*\\((?:\\s*\\?\\s*,)*)\\s*$",
+                    Pattern.CASE_INSENSITIVE);
+
+    private SqlShapes() {
+    }
+
+    // one shape per statement: literals become ?, IN lists of any length collapse, whitespace is folded
+    public static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PLACEHOLDER_LIST.matcher(shape).replaceAll("(?, ...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    // column name (without table alias) bound to each placeholder, or null where it cannot be told
+    public static List<String> parameterColumns(String sql) {
+        List<String> columns = new ArrayList<>();
+        Matcher insert = INSERT_COLUMNS.matcher(sql);
+        if (insert.find()) {
+            Arrays.stream(insert.group(1).split(",")).map(String::trim).forEach(columns::add);
+            return columns;
+        }
+        for (int i = sql.indexOf('?'); i >= 0; i = sql.indexOf('?', i + 1)) {
+            Matcher compared = COMPARED_COLUMN.matcher(sql.substring(Math.max(0, i - 120), i));
+            columns.add(compared.find() ? unqualified(compared.group(1)) : null);
+        }
+        return columns;
+    }
+
+    public static boolean isSelect(String sql) {
+        String start = sql.stripLeading().toLowerCase();
+        return start.startsWith("select") || start.startsWith("with");
+    }
+
+    private static String unqualified(String column) {
+        return column.substring(column.lastIndexOf('.') + 1);
+    }
+}
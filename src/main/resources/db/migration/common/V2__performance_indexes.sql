@@ -0,0 +1,19 @@
+-- Indexes for the repository lookups that only had primary and foreign keys to work with. Each one
+-- is also declared on its entity, and SchemaIndexVerifier checks at startup that they exist.
+
+-- order history and single-order lookups by customer, newest first without a sort:
+-- findByEmailOrderByOrderIdDesc, findOrdersWithItemsByEmail, findByOrderIdAndEmail
+create index idx_orders_email_order_id on orders (email, order_id);
+
+-- a cart line by cart and product: CartItemRepository find/delete by (cart_id, product_id)
+create index idx_cart_items_cart_product on cart_items (cart_id, product_id);
+
+-- category pages in price order: findByCategoryOrderByPriceAsc
+create index idx_products_category_price on products (category_id, price);
+
+-- keyword search matches '%keyword%', which no B-tree can seek; the page count still scans this
+-- narrow index instead of the table
+create index idx_products_product_name on products (product_name);
+
+-- category by name: findByCategoryName (create/duplicate checks)
+create index idx_categories_category_name on categories (category_name);
@@ -0,0 +1,232 @@
+-- H2 (MODE=MySQL) twin of db/migration/mysql/V1__baseline_schema.sql for tests and the load harness:
+-- same tables, columns and constraint names, native sequences and check constraints instead of enums.
+
+create sequence cart_items_seq start with 1 increment by 50;
+
+create sequence order_items_seq start with 1 increment by 50;
+
+create sequence orders_seq start with 1 increment by 50;
+
+create sequence outbox_events_seq start with 1 increment by 50;
+
+create sequence payments_seq start with 1 increment by 50;
+
+create sequence products_seq start with 1 increment by 50;
+
+create sequence sales_rollups_seq start with 1 increment by 50;
+
+create table addresses (
+    address_id bigint generated by default as identity,
+    user_id bigint,
+    city varchar(255),
+    district varchar(255),
+    full_name varchar(255),
+    phone_number varchar(255),
+    postal_code varchar(255),
+    street varchar(255),
+    primary key (address_id)
+);
+
+create table cart_items (
+    discount float(53) not null,
+    product_price float(53) not null,
+    quantity integer,
+    cart_id bigint,
+    cart_item_id bigint not null,
+    product_id bigint,
+    primary key (cart_item_id)
+);
+
+create table carts (
+    total_price float(53),
+    cart_id bigint generated by default as identity,
+    last_modified timestamp(6),
+    user_id bigint,
+    primary key (cart_id),
+    constraint uk_carts_user unique (user_id)
+);
+
+create table catalog_changes (
+    change_id bigint generated by default as identity,
+    changed_at timestamp(6) not null,
+    entity_id bigint not null,
+    change_type varchar(10) not null check (change_type in ('UPSERT','DELETE')),
+    entity_type varchar(20) not null check (entity_type in ('PRODUCT','CATEGORY')),
+    primary key (change_id)
+);
+
+create table categories (
+    category_id bigint generated by default as identity,
+    category_name varchar(255),
+    primary key (category_id)
+);
+
+create table order_items (
+    discount float(53) not null,
+    ordered_product_price float(53) not null,
+    quantity integer,
+    order_id bigint,
+    order_item_id bigint not null,
+    product_id bigint,
+    primary key (order_item_id)
+);
+
+create table orders (
+    order_date date,
+    total_amount float(53),
+    address_id bigint,
+    created_at timestamp(6),
+    order_id bigint not null,
+    payment_id bigint,
+    email varchar(255) not null,
+    order_status varchar(255),
+    primary key (order_id),
+    constraint uk_orders_payment unique (payment_id)
+);
+
+create table outbox_events (
+    attempts integer not null,
+    aggregate_id bigint,
+    created_at timestamp(6),
+    event_id bigint not null,
+    processed_at timestamp(6),
+    aggregate_type varchar(30) not null,
+    event_type varchar(30) not null check (event_type in ('ORDER_PLACED','STOCK_ADJUSTED','LINEPAY_CONFIRMED')),
+    last_error varchar(500),
+    payload clob not null,
+    primary key (event_id)
+);
+
+create table payments (
+    payment_id bigint not null,
+    payment_method varchar(255),
+    pg_name varchar(255),
+    pg_payment_id varchar(255),
+    pg_response_message varchar(255),
+    pg_status varchar(255),
+    primary key (payment_id)
+);
+
+create table products (
+    discount float(53) not null,
+    price float(53) not null,
+    quantity integer,
+    special_price float(53) not null,
+    category_id bigint,
+    product_id bigint not null,
+    seller_id bigint,
+    description varchar(255),
+    image varchar(255),
+    product_name varchar(255),
+    primary key (product_id),
+    constraint uk_products_category_name unique (category_id, product_name)
+);
+
+create table roles (
+    role_id integer generated by default as identity,
+    role_name varchar(20) check (role_name in ('ROLE_USER','ROLE_SELLER','ROLE_ADMIN')),
+    primary key (role_id)
+);
+
+create table sales_rollup_events (
+    applied_at timestamp(6),
+    event_id bigint not null,
+    primary key (event_id)
+);
+
+create table sales_rollups (
+    revenue float(53) not null,
+    sales_date date not null,
+    dimension_id bigint not null,
+    order_count bigint not null,
+    rollup_id bigint not null,
+    units_sold bigint not null,
+    rollup_type varchar(20) not null check (rollup_type in ('DAILY','PRODUCT','CATEGORY','SELLER')),
+    primary key (rollup_id),
+    constraint uk_sales_rollups_type_date_dimension unique (rollup_type, sales_date, dimension_id)
+);
+
+create table user_role (
+    role_id integer not null,
+    user_id bigint not null,
+    primary key (role_id, user_id)
+);
+
+create table users (
+    user_id bigint generated by default as identity,
+    username varchar(20),
+    email varchar(50),
+    password varchar(120),
+    primary key (user_id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+);
+
+create index idx_catalog_changes_changed_at
+   on catalog_changes (changed_at);
+
+create index idx_orders_status_date
+   on orders (order_status, order_date, created_at);
+
+create index idx_outbox_events_pending
+   on outbox_events (processed_at, event_id);
+
+alter table addresses
+   add constraint fk_addresses_user
+   foreign key (user_id)
+   references users;
+
+alter table cart_items
+   add constraint fk_cart_items_cart
+   foreign key (cart_id)
+   references carts;
+
+alter table cart_items
+   add constraint fk_cart_items_product
+   foreign key (product_id)
+   references products;
+
+alter table carts
+   add constraint fk_carts_user
+   foreign key (user_id)
+   references users;
+
+alter table order_items
+   add constraint fk_order_items_order
+   foreign key (order_id)
+   references orders;
+
+alter table order_items
+   add constraint fk_order_items_product
+   foreign key (product_id)
+   references products;
+
+alter table orders
+   add constraint fk_orders_address
+   foreign key (address_id)
+   references addresses;
+
+alter table orders
+   add constraint fk_orders_payment
+   foreign key (payment_id)
+   references payments;
+
+alter table products
+   add constraint fk_products_category
+   foreign key (category_id)
+   references categories;
+
+alter table products
+   add constraint fk_products_seller
+   foreign key (seller_id)
+   references users;
+
+alter table user_role
+   add constraint fk_user_role_role
+   foreign key (role_id)
+   references roles;
+
+alter table user_role
+   add constraint fk_user_role_user
+   foreign key (user_id)
+   references users;
@@ -0,0 +1,2 @@
+-- a failed outbox event is not polled again before this time (OutboxDispatcher backoff)
+alter table outbox_events add column next_attempt_at timestamp(6);
@@ -0,0 +1,272 @@
+-- Schema as Hibernate generated it with ddl-auto=create, constraints given stable names.
+-- Sequences are emulated with *_seq tables on MySQL; see db/migration/h2 for the H2 equivalent.
+
+create table addresses (
+    address_id bigint not null auto_increment,
+    user_id bigint,
+    city varchar(255),
+    district varchar(255),
+    full_name varchar(255),
+    phone_number varchar(255),
+    postal_code varchar(255),
+    street varchar(255),
+    primary key (address_id)
+) engine=InnoDB;
+
+create table cart_items (
+    discount float(53) not null,
+    product_price float(53) not null,
+    quantity integer,
+    cart_id bigint,
+    cart_item_id bigint not null,
+    product_id bigint,
+    primary key (cart_item_id)
+) engine=InnoDB;
+
+create table cart_items_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into cart_items_seq values ( 1 );
+
+create table carts (
+    total_price float(53),
+    cart_id bigint not null auto_increment,
+    last_modified datetime(6),
+    user_id bigint,
+    primary key (cart_id)
+) engine=InnoDB;
+
+create table catalog_changes (
+    change_id bigint not null auto_increment,
+    changed_at datetime(6) not null,
+    entity_id bigint not null,
+    change_type enum ('UPSERT','DELETE') not null,
+    entity_type enum ('PRODUCT','CATEGORY') not null,
+    primary key (change_id)
+) engine=InnoDB;
+
+create table categories (
+    category_id bigint not null auto_increment,
+    category_name varchar(255),
+    primary key (category_id)
+) engine=InnoDB;
+
+create table order_items (
+    discount float(53) not null,
+    ordered_product_price float(53) not null,
+    quantity integer,
+    order_id bigint,
+    order_item_id bigint not null,
+    product_id bigint,
+    primary key (order_item_id)
+) engine=InnoDB;
+
+create table order_items_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into order_items_seq values ( 1 );
+
+create table orders (
+    order_date date,
+    total_amount float(53),
+    address_id bigint,
+    created_at datetime(6),
+    order_id bigint not null,
+    payment_id bigint,
+    email varchar(255) not null,
+    order_status varchar(255),
+    primary key (order_id)
+) engine=InnoDB;
+
+create table orders_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into orders_seq values ( 1 );
+
+create table outbox_events (
+    attempts integer not null,
+    aggregate_id bigint,
+    created_at datetime(6),
+    event_id bigint not null,
+    processed_at datetime(6),
+    aggregate_type varchar(30) not null,
+    last_error varchar(500),
+    event_type enum ('ORDER_PLACED','STOCK_ADJUSTED','LINEPAY_CONFIRMED') not null,
+    payload longtext not null,
+    primary key (event_id)
+) engine=InnoDB;
+
+create table outbox_events_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into outbox_events_seq values ( 1 );
+
+create table payments (
+    payment_id bigint not null,
+    payment_method varchar(255),
+    pg_name varchar(255),
+    pg_payment_id varchar(255),
+    pg_response_message varchar(255),
+    pg_status varchar(255),
+    primary key (payment_id)
+) engine=InnoDB;
+
+create table payments_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into payments_seq values ( 1 );
+
+create table products (
+    discount float(53) not null,
+    price float(53) not null,
+    quantity integer,
+    special_price float(53) not null,
+    category_id bigint,
+    product_id bigint not null,
+    seller_id bigint,
+    description varchar(255),
+    image varchar(255),
+    product_name varchar(255),
+    primary key (product_id)
+) engine=InnoDB;
+
+create table products_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into products_seq values ( 1 );
+
+create table roles (
+    role_id integer not null auto_increment,
+    role_name enum ('ROLE_USER','ROLE_SELLER','ROLE_ADMIN'),
+    primary key (role_id)
+) engine=InnoDB;
+
+create table sales_rollup_events (
+    applied_at datetime(6),
+    event_id bigint not null,
+    primary key (event_id)
+) engine=InnoDB;
+
+create table sales_rollups (
+    revenue float(53) not null,
+    sales_date date not null,
+    dimension_id bigint not null,
+    order_count bigint not null,
+    rollup_id bigint not null,
+    units_sold bigint not null,
+    rollup_type enum ('DAILY','PRODUCT','CATEGORY','SELLER') not null,
+    primary key (rollup_id)
+) engine=InnoDB;
+
+create table sales_rollups_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into sales_rollups_seq values ( 1 );
+
+create table user_role (
+    role_id integer not null,
+    user_id bigint not null,
+    primary key (role_id, user_id)
+) engine=InnoDB;
+
+create table users (
+    user_id bigint not null auto_increment,
+    username varchar(20),
+    email varchar(50),
+    password varchar(120),
+    primary key (user_id)
+) engine=InnoDB;
+
+alter table carts
+   add constraint uk_carts_user unique (user_id);
+
+create index idx_catalog_changes_changed_at
+   on catalog_changes (changed_at);
+
+create index idx_orders_status_date
+   on orders (order_status, order_date, created_at);
+
+alter table orders
+   add constraint uk_orders_payment unique (payment_id);
+
+create index idx_outbox_events_pending
+   on outbox_events (processed_at, event_id);
+
+alter table products
+   add constraint uk_products_category_name unique (category_id, product_name);
+
+alter table sales_rollups
+   add constraint uk_sales_rollups_type_date_dimension unique (rollup_type, sales_date, dimension_id);
+
+alter table users
+   add constraint uk_users_username unique (username);
+
+alter table users
+   add constraint uk_users_email unique (email);
+
+alter table addresses
+   add constraint fk_addresses_user
+   foreign key (user_id)
+   references users (user_id);
+
+alter table cart_items
+   add constraint fk_cart_items_cart
+   foreign key (cart_id)
+   references carts (cart_id);
+
+alter table cart_items
+   add constraint fk_cart_items_product
+   foreign key (product_id)
+   references products (product_id);
+
+alter table carts
+   add constraint fk_carts_user
+   foreign key (user_id)
+   references users (user_id);
+
+alter table order_items
+   add constraint fk_order_items_order
+   foreign key (order_id)
+   references orders (order_id);
+
+alter table order_items
+   add constraint fk_order_items_product
+   foreign key (product_id)
+   references products (product_id);
+
+alter table orders
+   add constraint fk_orders_address
+   foreign key (address_id)
+   references addresses (address_id);
+
+alter table orders
+   add constraint fk_orders_payment
+   foreign key (payment_id)
+   references payments (payment_id);
+
+alter table products
+   add constraint fk_products_category
+   foreign key (category_id)
+   references categories (category_id);
+
+alter table products
+   add constraint fk_products_seller
+   foreign key (seller_id)
+   references users (user_id);
+
+alter table user_role
+   add constraint fk_user_role_role
+   foreign key (role_id)
+   references roles (role_id);
+
+alter table user_role
+   add constraint fk_user_role_user
+   foreign key (user_id)
+   references users (user_id);
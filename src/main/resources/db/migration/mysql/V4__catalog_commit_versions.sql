@@ -0,0 +1,21 @@
+-- Catalog versions handed out from a counter row that writers lock until commit, so a version is never
+-- visible before a lower one (the auto-increment id is assigned at insert time and commits out of order).
+-- Existing change rows keep their id as version.
+create table catalog_versions (
+    id bigint not null,
+    catalog_version bigint not null,
+    change_version bigint not null,
+    purged_version bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+insert into catalog_versions (id, catalog_version, change_version, purged_version)
+select 1, coalesce(max(change_id), 0), coalesce(max(change_id), 0), coalesce(min(change_id) - 1, 0)
+from catalog_changes;
+
+alter table catalog_changes add column change_version bigint;
+update catalog_changes set change_version = change_id;
+alter table catalog_changes modify column change_version bigint not null;
+
+-- the delta feed: findChangesSince, findChangesAt
+create index idx_catalog_changes_change_version on catalog_changes (change_version);
@@ -0,0 +1,162 @@
+package com.ecommerce.project;
+
+import com.ecommerce.project.repositories.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.spi.ToolProvider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Time from JVM launch to ApplicationReadyEvent: default, faststart, and both again on an AppCDS archive.
+// Each start runs in a fresh JVM (Probe below) on the embedded database; a training run of the probe
+// dumps the archive first, as the Dockerfile does for the image. The best of ROUNDS per mode is written
+// to target/startup-times.csv. Timings are not asserted, the eager work and the archive are. Warm-up
+// stays off (test profile): it runs for a fixed budget and reports its own warmup.duration. The Docker
+// build records the same comparison for every image; this test is for local runs and is tagged
+// "benchmark": mvn -Pbenchmark test -Dtest=StartupTimeBenchmarkTest
+@Tag("benchmark")
+class StartupTimeBenchmarkTest {
+
+    private static final int ROUNDS = 3;
+    private static final Path WORK_DIR = Path.of("target", "startup-benchmark");
+    private static final Path ARCHIVE = WORK_DIR.resolve("app.jsa");
+
+    // the shared test profile supplies the embedded database and dummy providers
+    private static final List<String> PROPERTIES = List.of(
+            "--server.port=0",
+            "--logging.level.root=WARN",
+            "--logging.level.org.springframework=WARN",
+            "--logging.level.org.springframework.security=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.com.ecommerce.project=WARN");
+
+    @Test
+    void faststartProfileDefersWorkUntilAfterReady() throws Exception {
+        List<String> plain = List.of("--spring.profiles.active=test");
+        List<String> faststart = List.of("--spring.profiles.active=test,faststart");
+        String classPath = jarredClassPath();
+        Files.deleteIfExists(ARCHIVE);
+        start(classPath, List.of("-XX:ArchiveClassesAtExit=" + ARCHIVE, "-Xlog:cds=off"), plain);
+        assertTrue(Files.size(ARCHIVE) > 0, "the training run wrote no archive");
+        // -Xshare:on fails the start instead of silently running without the archive
+        List<String> cds = List.of("-XX:SharedArchiveFile=" + ARCHIVE, "-Xshare:on");
+
+        Map<String, long[]> results = new LinkedHashMap<>();
+        results.put("default", best(classPath, List.of(), plain));
+        results.put("faststart", best(classPath, List.of(), faststart));
+        results.put("cds", best(classPath, cds, plain));
+        results.put("cds+faststart", best(classPath, cds, faststart));
+
+        StringBuilder csv = new StringBuilder("mode,ready_ms,singletons,loaded_classes,users_seeded_ms\n");
+        results.forEach((mode, r) -> {
+            csv.append(mode).append(',').append(r[0]).append(',').append(r[1]).append(',')
+                    .append(r[2]).append(',').append(r[3]).append('\n');
+        });
+        Files.writeString(Path.of("target", "startup-times.csv"), csv);
+
+        assertTrue(results.get("faststart")[1] < results.get("default")[1],
+                "faststart created as many beans before ready as the default profile");
+        assertTrue(results.get("faststart")[3] >= 0, "faststart never seeded the demo users");
+    }
+
+    // CDS refuses a class path with non-empty directories, so target/classes and target/test-classes are
+    // packed into jars, as the Dockerfile does with BOOT-INF/classes; every mode uses this class path
+    private static String jarredClassPath() throws IOException {
+        ToolProvider jar = ToolProvider.findFirst("jar").orElseThrow();
+        Files.createDirectories(WORK_DIR);
+        List<String> entries = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            Path path = Path.of(entry);
+            if (Files.isDirectory(path)) {
+                Path packed = WORK_DIR.resolve(path.getFileName() + ".jar").toAbsolutePath();
+                Files.deleteIfExists(packed);
+                assertEquals(0, jar.run(System.out, System.err, "--create", "--file", packed.toString(),
+                        "-C", path.toString(), "."));
+                entries.add(packed.toString());
+            } else {
+                entries.add(entry);
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static long[] best(String classPath, List<String> jvmArgs, List<String> extraArgs)
+            throws IOException, InterruptedException {
+        long[] best = null;
+        for (int i = 0; i < ROUNDS; i++) {
+            long[] run = start(classPath, jvmArgs, extraArgs);
+            if (best == null || run[0] < best[0]) {
+                best = run;
+            }
+        }
+        return best;
+    }
+
+    private static long[] start(String classPath, List<String> jvmArgs, List<String> extraArgs)
+            throws IOException, InterruptedException {
+        Path resultFile = Files.createTempFile("startup", ".txt");
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-D" + Probe.RESULT_FILE + "=" + resultFile));
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-cp", classPath, Probe.class.getName()));
+        command.addAll(PROPERTIES);
+        command.addAll(extraArgs);
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(process.waitFor(2, TimeUnit.MINUTES) && process.exitValue() == 0, output);
+        String line = Files.readString(resultFile).trim();
+        Files.delete(resultFile);
+        assertFalse(line.isEmpty(), () -> "no startup result, output:\n" + output);
+        String[] values = line.split(" ");
+        long[] result = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = Long.parseLong(values[i]);
+        }
+        return result;
+    }
+
+    public static class Probe {
+
+        static final String RESULT_FILE = "startup.result";
+
+        public static void main(String[] args) throws InterruptedException, IOException {
+            ConfigurableApplicationContext context = SpringApplication.run(SbEcomApplication.class, args);
+            // run returns once ApplicationReadyEvent has been published, i.e. when readiness flips
+            long readyMs = ManagementFactory.getRuntimeMXBean().getUptime();
+            int singletons = context.getBeanFactory().getSingletonCount();
+            long loadedClasses = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+
+            // with seed.async the demo users arrive after ready; -1 if they never do
+            UserRepository users = context.getBean(UserRepository.class);
+            long seededMs = -1;
+            for (int i = 0; i < 300 && seededMs < 0; i++) {
+                if (users.existsByUserName("admin") && users.findByUserName("admin").orElseThrow().getRoles().size() == 3) {
+                    seededMs = ManagementFactory.getRuntimeMXBean().getUptime();
+                } else {
+                    Thread.sleep(100);
+                }
+            }
+            Files.writeString(Path.of(System.getProperty(RESULT_FILE)),
+                    readyMs + " " + singletons + " " + loadedClasses + " " + seededMs);
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.repositories.CategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Catalog reads carry an ETag and public Cache-Control only when they succeed; a matching
+// If-None-Match is answered with 304 and the same tag, and error responses get neither.
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class CatalogETagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void successfulReadIsTaggedAndRevalidatedWith304() throws Exception {
+        categoryRepository.save(new Category(null, "ETag category", null));
+
+        MvcResult first = mockMvc.perform(get("/api/public/categories"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=300"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/public/categories").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=300"));
+    }
+
+    @Test
+    void errorResponseIsNotTaggedOrMadeCacheable() throws Exception {
+        MvcResult missing = mockMvc.perform(get("/api/public/categories/987654/products"))
+                .andExpect(status().isNotFound())
+                .andReturn();
+
+        assertNull(missing.getResponse().getHeader(HttpHeaders.ETAG));
+        String cacheControl = missing.getResponse().getHeader(HttpHeaders.CACHE_CONTROL);
+        assertFalse(cacheControl != null && cacheControl.contains("public"), cacheControl);
+    }
+}
@@ -0,0 +1,221 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.repositories.*;
+import com.ecommerce.project.service.OrderService;
+import com.ecommerce.project.service.ProductService;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Hot catalog pages come back from the response cache: the key ignores parameter order and keyword
+// case, a catalog write turns entries into misses, pages past max-page and error responses are never
+// stored, gzip is only sent to clients that accept it, and a checkout's stock reaches cached pages and
+// their ETags within the outbox interval plus catalog.products.stock-refresh-ms.
+@SpringBootTest(properties = {
+        "catalog.response-cache.enabled=true",
+        "catalog.response-cache.max-page=2",
+        "catalog.response-cache.gzip-min-bytes=0",
+        "catalog.products.stock-refresh-ms=500",
+        "outbox.dispatcher.enabled=true",
+        "outbox.dispatcher.interval-ms=100"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class CatalogResponseCacheTest {
+
+    // dispatcher interval + stock-refresh-ms, with room for a slow build machine
+    private static final long STOCK_BOUND_MS = 3000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    private Category category;
+
+    @BeforeEach
+    void seedCatalog() {
+        category = categoryRepository.save(new Category(null, "Cache " + System.nanoTime(), null));
+        for (int i = 0; i < 5; i++) {
+            Product product = new Product();
+            product.setProductName("Cached phone " + category.getCategoryId() + "-" + i);
+            product.setDescription("Cached product");
+            product.setQuantity(10);
+            product.setPrice(100);
+            product.setSpecialPrice(100);
+            product.setCategory(category);
+            productRepository.save(product);
+        }
+    }
+
+    @Test
+    void keyIgnoresParameterOrderAndKeywordCase() throws Exception {
+        Counts before = counts();
+        fetch(get("/api/public/products").param("keyword", "Cached").param("sortOrder", "ASC"));
+        fetch(get("/api/public/products").param("sortOrder", "asc").param("keyword", "cached"));
+        assertEquals(new Counts(1, 1), counts().minus(before));
+
+        // a different sort is a different page
+        fetch(get("/api/public/products").param("keyword", "cached").param("sortOrder", "desc"));
+        assertEquals(new Counts(1, 2), counts().minus(before));
+    }
+
+    @Test
+    void catalogWriteInvalidatesEntries() throws Exception {
+        String path = "/api/public/categories/" + category.getCategoryId() + "/products";
+        fetch(get(path));
+        fetch(get(path)).andExpect(jsonPath("$.content.length()").value(5));
+
+        ProductDTO added = new ProductDTO();
+        added.setProductName("Cached phone added " + category.getCategoryId());
+        added.setDescription("Added after caching");
+        added.setQuantity(1);
+        added.setPrice(50);
+        added.setDiscount(0);
+        productService.addProduct(category.getCategoryId(), added);
+
+        Counts before = counts();
+        fetch(get(path)).andExpect(jsonPath("$.content.length()").value(6));
+        assertEquals(new Counts(0, 1), counts().minus(before));
+    }
+
+    @Test
+    void pagesPastMaxPageAndErrorsAreNotCached() throws Exception {
+        String path = "/api/public/categories/" + category.getCategoryId() + "/products";
+        Counts before = counts();
+        fetch(get(path).param("pageNumber", "3").param("pageSize", "1"));
+        fetch(get(path).param("pageNumber", "3").param("pageSize", "1"));
+        assertEquals(new Counts(0, 0), counts().minus(before));
+
+        fetch(get(path).param("pageNumber", "2").param("pageSize", "1"));
+        fetch(get(path).param("pageNumber", "2").param("pageSize", "1"));
+        assertEquals(new Counts(1, 1), counts().minus(before));
+
+        mockMvc.perform(get("/api/public/categories/987654/products")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/public/categories/987654/products")).andExpect(status().isNotFound());
+        assertEquals(new Counts(1, 3), counts().minus(before));
+    }
+
+    @Test
+    void checkoutReachesCachedPagesWithinTheStockRefreshBound() throws Exception {
+        String keyword = "Cached phone " + category.getCategoryId() + "-0";
+        MockHttpServletRequestBuilder page = get("/api/public/products").param("keyword", keyword);
+        String etag = fetch(page).andExpect(jsonPath("$.content[0].quantity").value(10))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        // now cached
+        fetch(page).andExpect(jsonPath("$.content[0].quantity").value(10));
+
+        Product product = productRepository.findAll().stream()
+                .filter(candidate -> candidate.getProductName().equals(keyword)).findFirst().orElseThrow();
+        placeOrder(product, 3);
+        long placedAt = System.currentTimeMillis();
+
+        int quantity = 10;
+        while (quantity != 7 && System.currentTimeMillis() - placedAt < STOCK_BOUND_MS) {
+            Thread.sleep(50);
+            String json = fetch(page).andReturn().getResponse().getContentAsString();
+            quantity = JsonPath.read(json, "$.content[0].quantity");
+        }
+        assertEquals(7, quantity);
+        fetch(get("/api/public/products").param("keyword", keyword).header(HttpHeaders.IF_NONE_MATCH, etag));
+    }
+
+    @Test
+    void gzipFollowsAcceptEncodingQValues() throws Exception {
+        String path = "/api/public/categories/" + category.getCategoryId() + "/products";
+        String json = fetch(get(path)).andReturn().getResponse().getContentAsString();
+
+        fetch(get(path).header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, deflate"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().json(json));
+        fetch(get(path).header(HttpHeaders.ACCEPT_ENCODING, "*, gzip;q=0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        fetch(get(path).header(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.5"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        fetch(get(path).header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, *;q=0.1"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)));
+    }
+
+    private void placeOrder(Product product, int quantity) {
+        long n = System.nanoTime();
+        User user = userRepository.save(new User("cache" + n, "cache" + n + "@example.com", "password"));
+        Address address = new Address("Buyer", "0912345678", "Taipei", "Xinyi", "110", "Cache Road 1");
+        address.setUser(user);
+        address = addressRepository.save(address);
+
+        Cart cart = new Cart();
+        cart.setUser(user);
+        cart.setTotalPrice(product.getSpecialPrice() * quantity);
+        cart = cartRepository.save(cart);
+        CartItem item = new CartItem();
+        item.setCart(cart);
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        item.setProductPrice(product.getSpecialPrice());
+        cartItemRepository.save(item);
+
+        orderService.placeOrder(user.getEmail(), address.getAddressId(), "card", "Stripe",
+                "pi_cache", "succeeded", "ok");
+    }
+
+    private ResultActions fetch(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andExpect(status().isOk());
+    }
+
+    private Counts counts() {
+        return new Counts(
+                (long) meterRegistry.get("catalog.response.cache").tag("result", "hit").counter().count(),
+                (long) meterRegistry.get("catalog.response.cache").tag("result", "miss").counter().count());
+    }
+
+    private record Counts(long hits, long misses) {
+        Counts minus(Counts other) {
+            return new Counts(hits - other.hits, misses - other.misses);
+        }
+    }
+}
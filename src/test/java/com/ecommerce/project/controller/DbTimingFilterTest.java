@@ -0,0 +1,75 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.support.QueryCount;
+import com.ecommerce.project.support.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The per-request DB breakdown must agree with what Hibernate actually ran, reach the client as a
+// Server-Timing header (off by default, switched on here) and be recorded under the route pattern, not
+// the raw URI.
+@SpringBootTest(properties = {
+        "db.instrumentation.server-timing.enabled=true"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class DbTimingFilterTest {
+
+    private static final Pattern SERVER_TIMING = Pattern.compile("db;desc=\"(\\d+) statements\";dur=[\\d.]+, db-wait;dur=[\\d.]+");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void serverTimingReportsTheStatementsOfTheRequest() {
+        Category category = categoryRepository.save(new Category(null, "Server Timing", null));
+        String path = "/api/public/categories/" + category.getCategoryId() + "/products";
+        MvcResult[] result = new MvcResult[1];
+
+        // an empty category answers 400 after running its queries, which must be reported all the same
+        QueryCount count = SqlStatementCounter.count(() ->
+                result[0] = mockMvc.perform(get(path)).andExpect(status().isBadRequest()).andReturn());
+
+        String header = result[0].getResponse().getHeader("Server-Timing");
+        assertNotNull(header, "missing Server-Timing header");
+        Matcher matcher = SERVER_TIMING.matcher(header);
+        assertTrue(matcher.matches(), header);
+        assertEquals(count.total(), Integer.parseInt(matcher.group(1)), header);
+    }
+
+    @Test
+    void metricsAreTaggedByRoute() throws Exception {
+        mockMvc.perform(get("/api/public/categories")).andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.find("http.server.requests.db.statements")
+                .tags("method", "GET", "uri", "/api/public/categories")
+                .summary();
+        assertNotNull(statements, "no statement histogram for the route");
+        assertTrue(statements.count() >= 1);
+        assertTrue(statements.max() >= 1, "categories are read from the database");
+    }
+}
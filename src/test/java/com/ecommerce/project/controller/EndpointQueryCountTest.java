@@ -0,0 +1,296 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.repositories.*;
+import com.ecommerce.project.security.jwt.JwtUtils;
+import com.ecommerce.project.service.OrderService;
+import com.ecommerce.project.support.QueryCount;
+import com.ecommerce.project.support.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.ecommerce.project.support.QueryCountAssertions.assertMaxStatements;
+import static com.ecommerce.project.support.QueryCountAssertions.assertStatementCountDoesNotGrow;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Query budget of the main endpoints. Each test measures an endpoint, grows the data it reads and
+// measures again: the statement count must stay flat and under the budget. Requests go through the
+// full filter chain, so counts include the JWT user lookup.
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class EndpointQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private static int seq;
+
+    @Test
+    void productListing() throws Exception {
+        String keyword = "listing" + (++seq);
+        seedProducts(keyword, 1, 3);
+        MockHttpServletRequestBuilder request = get("/api/public/products").param("keyword", keyword);
+        measure(request);
+
+        QueryCount small = measure(request);
+        seedProducts(keyword, 10, 40);
+        QueryCount large = measure(request);
+
+        assertStatementCountDoesNotGrow(small, large);
+        assertMaxStatements(3, large);
+    }
+
+    @Test
+    void productsByCategory() throws Exception {
+        Category category = seedProducts("category" + (++seq), 1, 3).get(0);
+        MockHttpServletRequestBuilder request = get("/api/public/categories/{categoryId}/products", category.getCategoryId());
+        measure(request);
+
+        QueryCount small = measure(request);
+        seedProducts(category, "more" + seq, 40);
+        QueryCount large = measure(request);
+
+        assertStatementCountDoesNotGrow(small, large);
+        assertMaxStatements(4, large);
+    }
+
+    @Test
+    void productKeywordSearch() throws Exception {
+        String keyword = "search" + (++seq);
+        seedProducts(keyword, 1, 3);
+        MockHttpServletRequestBuilder request = get("/api/public/products/keyword/{keyword}", keyword);
+        measure(request);
+
+        QueryCount small = measure(request);
+        seedProducts(keyword, 10, 40);
+        QueryCount large = measure(request);
+
+        assertStatementCountDoesNotGrow(small, large);
+        assertMaxStatements(3, large);
+    }
+
+    @Test
+    void categories() throws Exception {
+        seedProducts("categories" + (++seq), 1, 3);
+        MockHttpServletRequestBuilder request = get("/api/public/categories");
+        measure(request);
+
+        QueryCount small = measure(request);
+        seedProducts("categories" + seq, 10, 20);
+        QueryCount large = measure(request);
+
+        assertStatementCountDoesNotGrow(small, large);
+        assertMaxStatements(3, large);
+    }
+
+    @Test
+    void userCart() throws Exception {
+        User user = seedUser();
+        List<Product> products = productsIn(seedProducts("cart" + (++seq), 5, 20));
+        fillCart(user, products.subList(0, 1));
+        MockHttpServletRequestBuilder request = authenticated(get("/api/carts/users/cart"), user);
+        measure(request);
+
+        QueryCount small = measure(request);
+        fillCart(user, products.subList(1, 20));
+        QueryCount large = measure(request);
+
+        assertStatementCountDoesNotGrow(small, large);
+        assertMaxStatements(6, large);
+    }
+
+    @Test
+    void addToCart() throws Exception {
+        User user = seedUser();
+        List<Product> products = productsIn(seedProducts("addtocart" + (++seq), 5, 25));
+        fillCart(user, products.subList(0, 1));
+        SqlStatementCounter.count(() -> addToCart(user, products.get(1)));
+
+        QueryCount small = SqlStatementCounter.count(() -> addToCart(user, products.get(2)));
+        fillCart(user, products.subList(3, 23));
+        QueryCount large = SqlStatementCounter.count(() -> addToCart(user, products.get(23)));
+
+        assertStatementCountDoesNotGrow(small, large);
+        assertMaxStatements(12, large);
+    }
+
+    @Test
+    void userOrders() throws Exception {
+        User user = seedUser();
+        List<Product> products = productsIn(seedProducts("orders" + (++seq), 5, 40));
+        placeOrder(user, products.subList(0, 1));
+        MockHttpServletRequestBuilder request = authenticated(get("/api/users/orders"), user);
+        measure(request);
+
+        QueryCount small = measure(request);
+        for (int i = 1; i < 36; i += 5) {
+            placeOrder(user, products.subList(i, i + 5));
+        }
+        QueryCount large = measure(request);
+
+        assertStatementCountDoesNotGrow(small, large);
+        assertMaxStatements(4, large);
+    }
+
+    @Test
+    void userAddresses() throws Exception {
+        User user = seedUser();
+        MockHttpServletRequestBuilder request = authenticated(get("/api/users/addresses"), user);
+        measure(request);
+
+        QueryCount small = measure(request);
+        for (int i = 0; i < 10; i++) {
+            seedAddress(user);
+        }
+        QueryCount large = measure(request);
+
+        assertStatementCountDoesNotGrow(small, large);
+        assertMaxStatements(4, large);
+    }
+
+    private QueryCount measure(MockHttpServletRequestBuilder request) {
+        // getProductByKeyword answers 302 FOUND, so anything below 400 counts as success
+        return SqlStatementCounter.count(() -> mockMvc.perform(request).andExpect(result ->
+                assertTrue(result.getResponse().getStatus() < 400, "HTTP " + result.getResponse().getStatus())));
+    }
+
+    private MockHttpServletRequestBuilder authenticated(MockHttpServletRequestBuilder request, User user) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtils.generateTokenFromUsername(user.getUserName()));
+    }
+
+    private void addToCart(User user, Product product) throws Exception {
+        mockMvc.perform(authenticated(post("/api/carts/products/{productId}/quantity/{quantity}",
+                        product.getProductId(), 1), user))
+                .andExpect(status().isCreated());
+    }
+
+    private void placeOrder(User user, List<Product> products) {
+        fillCart(user, products);
+        Address address = seedAddress(user);
+        orderService.placeOrder(user.getEmail(), address.getAddressId(), "card", "Stripe",
+                "pi_test", "succeeded", "ok");
+    }
+
+    private User seedUser() {
+        int n = ++seq;
+        // roles are only attachable while the Role is managed, so save the user inside a transaction
+        User user = transactionTemplate.execute(status -> {
+            User newUser = new User("querycount" + n, "querycount" + n + "@example.com", "password");
+            newUser.setRoles(Set.of(roleRepository.findByRoleName(AppRole.ROLE_USER).orElseThrow()));
+            return userRepository.save(newUser);
+        });
+        seedAddress(user);
+        return user;
+    }
+
+    private Address seedAddress(User user) {
+        Address address = new Address("Query Count", "0912345678", "Taipei", "Xinyi", "110", "Count Road " + (++seq));
+        address.setUser(user);
+        return addressRepository.save(address);
+    }
+
+    // adds the products as new lines of the user's cart, creating the cart on first use
+    private void fillCart(User user, List<Product> products) {
+        Cart cart = cartRepository.findCartByEmail(user.getEmail());
+        if (cart == null) {
+            cart = new Cart();
+            cart.setUser(user);
+            cart = cartRepository.save(cart);
+        }
+        double total = cart.getTotalPrice();
+        for (Product product : products) {
+            CartItem item = new CartItem();
+            item.setCart(cart);
+            item.setProduct(product);
+            item.setQuantity(1);
+            item.setProductPrice(product.getSpecialPrice());
+            cartItemRepository.save(item);
+            total += product.getSpecialPrice();
+        }
+        cart.setTotalPrice(total);
+        cartRepository.save(cart);
+    }
+
+    // spreads the products round-robin over new categories so pages mix several categories
+    private List<Category> seedProducts(String prefix, int categoryCount, int productCount) {
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < categoryCount; i++) {
+            categories.add(categoryRepository.save(new Category(null, prefix + " category " + (++seq), null)));
+        }
+        for (int i = 0; i < productCount; i++) {
+            seedProduct(categories.get(i % categoryCount), prefix + " product " + (++seq));
+        }
+        return categories;
+    }
+
+    private void seedProducts(Category category, String prefix, int productCount) {
+        for (int i = 0; i < productCount; i++) {
+            seedProduct(category, prefix + " product " + (++seq));
+        }
+    }
+
+    private void seedProduct(Category category, String name) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setDescription("Query count product");
+        product.setImage("https://example.com/product.png");
+        product.setQuantity(1000);
+        product.setPrice(100);
+        product.setSpecialPrice(90);
+        product.setDiscount(10);
+        product.setCategory(category);
+        productRepository.save(product);
+    }
+
+    private List<Product> productsIn(List<Category> categories) {
+        List<Long> categoryIds = categories.stream().map(Category::getCategoryId).toList();
+        return productRepository.findAll().stream()
+                .filter(product -> categoryIds.contains(product.getCategory().getCategoryId()))
+                .toList();
+    }
+}
@@ -0,0 +1,51 @@
+package com.ecommerce.project.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The scrape endpoint needs an admin and carries the pool, Hibernate and service timers; the health
+// probes stay open.
+@SpringBootTest(properties = {
+        "catalog.response-cache.enabled=true"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void scrapeRequiresAdminWhileProbesStayOpen() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(user("user").roles("USER"))).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/health/readiness")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/health/liveness")).andExpect(status().isOk());
+    }
+
+    @Test
+    void scrapeExposesPoolHibernateAndServiceMetrics() throws Exception {
+        mockMvc.perform(get("/api/public/products"));
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        for (String metric : new String[]{"hikaricp_connections_active", "hibernate_sessions_open_total",
+                "catalog_products_query_seconds_count", "http_server_requests_db_statements_count",
+                "hibernate_second_level_cache_requests_total"}) {
+            assertTrue(scrape.contains(metric), "missing " + metric);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.model.SalesRollup;
+import com.ecommerce.project.model.SalesRollupType;
+import com.ecommerce.project.repositories.SalesRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The report endpoints are admin-only, default to the last REPORT_DEFAULT_DAYS days and REPORT_LIMIT
+// rows, and answer an inverted range with 400.
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class ReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+
+    @Test
+    void reportsRequireAnAdmin() throws Exception {
+        mockMvc.perform(get("/api/admin/reports/sales/daily")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/admin/reports/sales/daily").with(user("user").roles("USER")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void defaultsCoverTheLastThirtyDaysAndFiftyRows() throws Exception {
+        // the context is shared with other suites; only these rows may be in the window
+        salesRollupRepository.deleteAll();
+        LocalDate today = LocalDate.now();
+        salesRollupRepository.save(new SalesRollup(SalesRollupType.DAILY, today.minusDays(31), 0L, 1, 1, 10.0));
+        salesRollupRepository.save(new SalesRollup(SalesRollupType.DAILY, today.minusDays(30), 0L, 1, 1, 10.0));
+        salesRollupRepository.save(new SalesRollup(SalesRollupType.DAILY, today, 0L, 1, 1, 10.0));
+        LongStream.rangeClosed(1, 51).forEach(sellerId -> salesRollupRepository.save(
+                new SalesRollup(SalesRollupType.SELLER, today, sellerId, 1, 1, sellerId)));
+
+        mockMvc.perform(get("/api/admin/reports/sales/daily").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].salesDate").value(today.minusDays(30).toString()))
+                .andExpect(jsonPath("$[1].salesDate").value(today.toString()));
+        mockMvc.perform(get("/api/admin/reports/sales/sellers").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(50)))
+                .andExpect(jsonPath("$[0].dimensionId").value(51));
+    }
+
+    @Test
+    void invertedRangeIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/admin/reports/sales/products").with(user("admin").roles("ADMIN"))
+                        .param("from", "2026-05-12").param("to", "2026-05-10"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Report start date 2026-05-12 is after end date 2026-05-10"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.ecommerce.project.controller;
+
+import com.ecommerce.project.payload.SlowQueryDTO;
+import com.ecommerce.project.security.jwt.JwtUtils;
+import com.ecommerce.project.service.SlowQueryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// With a zero threshold every statement is "slow": shapes must be normalized, sensitive binds
+// redacted, callers resolved to the service method and SELECT shapes explained once.
+@SpringBootTest(properties = {
+        "logging.level.com.ecommerce.project.service.SlowQueryServiceImpl=ERROR",
+        "db.slow-query.threshold-ms=0"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class SlowQueryLogTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private SlowQueryService slowQueryService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void userLookupIsRecordedWithRedactedBindsCallerAndPlan() throws Exception {
+        slowQueryService.reset();
+        mockMvc.perform(get("/api/users/addresses").header(HttpHeaders.AUTHORIZATION, bearer("user1")))
+                .andExpect(status().isOk());
+
+        SlowQueryDTO userLookup = awaitPlan("where u1_0.username=?");
+        assertEquals(List.of("'user1'"), userLookup.getLastParameters());
+        // looked up by the JWT filter and again by the controller
+        assertTrue(userLookup.getLastCaller().matches("(UserDetailsServiceImpl.loadUserByUsername|AuthUtil.loggedInUser):\\d+"),
+                userLookup.getLastCaller());
+        assertFalse(userLookup.getPlan().startsWith("EXPLAIN failed"), userLookup.getPlan());
+    }
+
+    @Test
+    void emailBindsAreRedacted() throws Exception {
+        slowQueryService.reset();
+        mockMvc.perform(get("/api/users/orders").header(HttpHeaders.AUTHORIZATION, bearer("user1")))
+                .andExpect(status().isOk());
+
+        SlowQueryDTO orders = find("o1_0.email=?");
+        assertEquals("****", orders.getLastParameters().get(0));
+    }
+
+    @Test
+    void bindsWithoutAKnownColumnAreRedacted() {
+        slowQueryService.reset();
+        slowQueryService.record("select p.product_name from products p where p.product_id=? or p.description=concat(?, '%')",
+                List.of(5L, "secret"), 1, dataSource);
+        assertEquals(List.of("5", "****"), find("from products p").getLastParameters());
+
+        // a column list that does not line up with the binds hides all of them
+        slowQueryService.record("insert into addresses (street, city) values (?, ?), (?, ?)",
+                List.of("Main St", "Taipei", "Side St", "Tainan"), 1, dataSource);
+        assertEquals(List.of("****", "****", "****", "****"), find("insert into addresses").getLastParameters());
+    }
+
+    @Test
+    void outOfRangeLimitIsClamped() throws Exception {
+        mockMvc.perform(get("/api/admin/slow-queries").param("limit", "-1")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void topQueriesAreServedToAdminsOnly() throws Exception {
+        mockMvc.perform(get("/api/admin/slow-queries").header(HttpHeaders.AUTHORIZATION, bearer("user1")))
+                .andExpect(status().isForbidden());
+        // the admin's own user lookup has been recorded by the time the list is read
+        mockMvc.perform(get("/api/admin/slow-queries").param("limit", "1")
+                        .header(HttpHeaders.AUTHORIZATION, bearer("admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].sql").exists());
+    }
+
+    private String bearer(String userName) {
+        return "Bearer " + jwtUtils.generateTokenFromUsername(userName);
+    }
+
+    private SlowQueryDTO find(String sqlFragment) {
+        return slowQueryService.getSlowQueries(Integer.MAX_VALUE).stream()
+                .filter(query -> query.getSql().contains(sqlFragment))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no slow query containing " + sqlFragment + " in "
+                        + slowQueryService.getSlowQueries(Integer.MAX_VALUE).stream().map(SlowQueryDTO::getSql).toList()));
+    }
+
+    // plans are produced on a background thread
+    private SlowQueryDTO awaitPlan(String sqlFragment) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        SlowQueryDTO query = find(sqlFragment);
+        while (query.getPlan() == null && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            query = find(sqlFragment);
+        }
+        assertNotNull(query.getPlan(), "no plan for " + query.getSql());
+        return query;
+    }
+}
@@ -0,0 +1,152 @@
+package com.ecommerce.project.controller;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The warm-up runs on a real server before readiness flips: it reaches every public catalog endpoint,
+// leaves the catalog in the second-level cache and is finished by the time ACCEPTING_TRAFFIC is published.
+// Its requests stay out of http.server.requests, the DB timing metrics and the access log, while a real
+// request (even one sending the warm-up header without the token) is still recorded.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "warmup.enabled=true",
+        "catalog.response-cache.enabled=true",
+        "warmup.rounds=3"
+})
+@ActiveProfiles("test")
+class WarmUpRunnerTest {
+
+    // warmup.duration count when readiness switched to ACCEPTING_TRAFFIC; -1 if it never did
+    private static final AtomicLong warmUpsBeforeReady = new AtomicLong(-1);
+    private static final ListAppender<ILoggingEvent> accessLog = new ListAppender<>();
+    private static Long categoryId;
+    private static Long productId;
+
+    @TestConfiguration
+    static class CatalogSeed {
+
+        @Bean
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        ApplicationRunner seedCatalog(CategoryRepository categoryRepository, ProductRepository productRepository,
+                                      EntityManagerFactory entityManagerFactory) {
+            return args -> {
+                accessLog.start();
+                ((Logger) LoggerFactory.getLogger("access")).addAppender(accessLog);
+                Category category = categoryRepository.save(new Category(null, "Warm-up", null));
+                Product product = new Product();
+                product.setProductName("Warm-up product");
+                product.setDescription("Warm-up");
+                product.setQuantity(10);
+                product.setPrice(100);
+                product.setSpecialPrice(100);
+                product.setCategory(category);
+                productId = productRepository.save(product).getProductId();
+                categoryId = category.getCategoryId();
+                // the saves put both rows in the cache; the warm-up has to load them back
+                entityManagerFactory.getCache().evictAll();
+            };
+        }
+
+        @Bean
+        ApplicationListener<AvailabilityChangeEvent<?>> readinessRecorder(MeterRegistry meterRegistry) {
+            return event -> {
+                if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+                    Timer timer = meterRegistry.find("warmup.duration").timer();
+                    warmUpsBeforeReady.set(timer == null ? 0 : timer.count());
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void warmUpCoversCatalogEndpointsBeforeReadiness() {
+        assertEquals(1, warmUpsBeforeReady.get(), "readiness flipped before the warm-up finished");
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity("/actuator/health/readiness", String.class).getStatusCode());
+
+        double total = meterRegistry.get("warmup.endpoints").tag("state", "total").gauge().value();
+        double covered = meterRegistry.get("warmup.endpoints").tag("state", "covered").gauge().value();
+        assertEquals(5, total);
+        assertEquals(total, covered);
+        assertTrue(meterRegistry.get("warmup.requests").tag("outcome", "success").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum() > 0);
+        assertTrue(meterRegistry.find("warmup.requests").tag("outcome", "error").counters().isEmpty(),
+                () -> "failed: " + meterRegistry.find("warmup.requests").tag("outcome", "error").counters().stream()
+                        .map(counter -> counter.getId().getTag("endpoint")).toList());
+        assertTrue(meterRegistry.get("warmup.pool.connections").gauge().value() > 0);
+
+        assertEquals(1, meterRegistry.get("warmup.catalog.loaded").tag("type", "category").gauge().value());
+        assertTrue(entityManagerFactory.getCache().contains(Category.class, categoryId));
+        assertTrue(entityManagerFactory.getCache().contains(Product.class, productId));
+    }
+
+    @Test
+    void warmUpRequestsStayOutOfRequestMetricsAndAccessLog() {
+        assertEquals(List.of(), publicUris("http.server.requests"));
+        assertEquals(List.of(), publicUris("http.server.requests.db.time"));
+        assertEquals(List.of(), publicAccessLines());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Warm-Up", "true");
+        assertEquals(HttpStatus.OK, restTemplate.exchange("/api/public/categories", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class).getStatusCode());
+
+        assertEquals(List.of("/api/public/categories"), publicUris("http.server.requests"));
+        assertEquals(List.of("/api/public/categories"), publicUris("http.server.requests.db.time"));
+        assertEquals(1, publicAccessLines().size());
+    }
+
+    private List<String> publicUris(String meter) {
+        return meterRegistry.find(meter).timers().stream()
+                .map(timer -> timer.getId().getTag("uri"))
+                .filter(uri -> uri != null && uri.startsWith("/api/public"))
+                .distinct()
+                .toList();
+    }
+
+    private List<String> publicAccessLines() {
+        return accessLog.list.stream()
+                .map(ILoggingEvent::getFormattedMessage)
+                .filter(line -> line.contains("/api/public"))
+                .toList();
+    }
+}
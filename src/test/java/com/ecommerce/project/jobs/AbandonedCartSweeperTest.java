@@ -0,0 +1,200 @@
+package com.ecommerce.project.jobs;
+
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.repositories.CartItemRepository;
+import com.ecommerce.project.repositories.CartRepository;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Only carts idle for longer than the TTL are deleted, together with their items; carts touched within
+// the TTL keep theirs. The keyset walk reaches every idle cart across chunk boundaries (batch size 2),
+// and a cart touched between the chunk's select and its delete survives. Each sweep commits its own
+// transactions, as it does when scheduled.
+@DataJpaTest(properties = {
+        "cart.sweeper.enabled=true",
+        "cart.sweeper.ttl-days=30",
+        "cart.sweeper.batch-size=2",
+        "cart.sweeper.pause-ms=0"
+})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({AbandonedCartSweeper.class, AbandonedCartSweeperTest.Metrics.class})
+class AbandonedCartSweeperTest {
+
+    @Autowired
+    private AbandonedCartSweeper sweeper;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Product product;
+
+    @BeforeEach
+    void clearCarts() {
+        cartItemRepository.deleteAllInBatch();
+        cartRepository.deleteAllInBatch();
+        meterRegistry.clear();
+        Category category = categoryRepository.save(new Category(null, "Sweeper " + System.nanoTime(), null));
+        Product saved = new Product();
+        saved.setProductName("Swept phone");
+        saved.setDescription("Sweeper");
+        saved.setQuantity(10);
+        saved.setPrice(100);
+        saved.setSpecialPrice(100);
+        saved.setCategory(category);
+        product = productRepository.save(saved);
+    }
+
+    @Test
+    void onlyCartsIdlePastTheTtlAreDeletedWithTheirItems() {
+        Cart idleWithItem = cart(31, true);
+        Cart longIdle = cart(90, false);
+        Cart touchedWithinTtl = cart(29, true);
+        Cart touchedToday = cart(0, true);
+
+        sweeper.sweep();
+
+        assertFalse(cartRepository.existsById(idleWithItem.getCartId()));
+        assertFalse(cartRepository.existsById(longIdle.getCartId()));
+        assertEquals(0, itemCount(idleWithItem));
+        assertTrue(cartRepository.existsById(touchedWithinTtl.getCartId()));
+        assertTrue(cartRepository.existsById(touchedToday.getCartId()));
+        assertEquals(1, itemCount(touchedWithinTtl));
+        assertEquals(1, itemCount(touchedToday));
+        assertEquals(2.0, meterRegistry.get("cart.sweeper.rows").tag("table", "carts").counter().count());
+        assertEquals(1.0, meterRegistry.get("cart.sweeper.rows").tag("table", "cart_items").counter().count());
+    }
+
+    @Test
+    void keysetWalkReachesEveryIdleCartAcrossChunks() {
+        // five idle carts in three chunks of two, with recent carts between them in cartId order
+        Cart first = cart(40, true);
+        Cart second = cart(40, false);
+        Cart recentBetween = cart(1, true);
+        List<Cart> idle = List.of(first, second, cart(40, true), cart(40, false), cart(40, true));
+        Cart recentAfter = cart(1, false);
+
+        sweeper.sweep();
+
+        idle.forEach(cart -> assertFalse(cartRepository.existsById(cart.getCartId()), cart::toString));
+        assertTrue(cartRepository.existsById(recentBetween.getCartId()));
+        assertTrue(cartRepository.existsById(recentAfter.getCartId()));
+        assertEquals(3, meterRegistry.get("cart.sweeper.chunk").timer().count());
+        assertEquals(5.0, meterRegistry.get("cart.sweeper.rows").tag("table", "carts").counter().count());
+        assertEquals(3.0, meterRegistry.get("cart.sweeper.rows").tag("table", "cart_items").counter().count());
+    }
+
+    @Test
+    void fullLastChunkEndsOnTheEmptyPage() {
+        List<Cart> idle = List.of(cart(40, true), cart(40, true), cart(40, true), cart(40, true));
+
+        sweeper.sweep();
+
+        idle.forEach(cart -> assertFalse(cartRepository.existsById(cart.getCartId()), cart::toString));
+        assertEquals(2, meterRegistry.get("cart.sweeper.chunk").timer().count());
+        assertEquals(4.0, meterRegistry.get("cart.sweeper.rows").tag("table", "carts").counter().count());
+    }
+
+    @Test
+    void cartTouchedAfterTheSelectIsKept() {
+        Cart idle = cart(40, true);
+        Cart touched = cart(40, true);
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(30);
+        List<Long> cartIds = cartRepository.findIdleCartIds(0L, cutoff, PageRequest.of(0, 2));
+        assertEquals(List.of(idle.getCartId(), touched.getCartId()), cartIds);
+
+        // the owner adds something between the sweeper's select and its delete
+        setLastModified(touched, LocalDateTime.now());
+        int[] swept = new TransactionTemplate(transactionManager).execute(status -> new int[]{
+                cartItemRepository.deleteAllByIdleCartIds(cartIds, cutoff),
+                cartRepository.deleteIdleCarts(cartIds, cutoff)
+        });
+
+        assertEquals(1, swept[0]);
+        assertEquals(1, swept[1]);
+        assertFalse(cartRepository.existsById(idle.getCartId()));
+        assertTrue(cartRepository.existsById(touched.getCartId()));
+        assertEquals(1, itemCount(touched));
+    }
+
+    // saving stamps lastModified with now, so the idle time is written afterwards
+    private Cart cart(int idleDays, boolean withItem) {
+        Cart cart = new Cart();
+        if (withItem) {
+            CartItem item = new CartItem();
+            item.setCart(cart);
+            item.setProduct(product);
+            item.setQuantity(1);
+            item.setProductPrice(100);
+            cart.getCartItems().add(item);
+            cart.setTotalPrice(100.0);
+        }
+        Cart saved = cartRepository.save(cart);
+        setLastModified(saved, LocalDateTime.now().minusDays(idleDays));
+        return saved;
+    }
+
+    private void setLastModified(Cart cart, LocalDateTime lastModified) {
+        jdbcTemplate.update("UPDATE carts SET last_modified = ? WHERE cart_id = ?",
+                Timestamp.valueOf(lastModified), cart.getCartId());
+    }
+
+    private int itemCount(Cart cart) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cart_items WHERE cart_id = ?", Integer.class,
+                cart.getCartId());
+    }
+
+    @TestConfiguration
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.ecommerce.project.jobs;
+
+import com.ecommerce.project.model.OutboxEvent;
+import com.ecommerce.project.model.OutboxEventType;
+import com.ecommerce.project.repositories.OutboxEventRepository;
+import com.ecommerce.project.service.OutboxEventSubscriber;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A failing event is backed off instead of being retried again within the same run, the events behind
+// it are still delivered, attempts stop at max-attempts, and the purge removes only processed events
+// older than the retention. Each dispatcher call commits its own transactions, as it does when scheduled.
+@DataJpaTest(properties = {
+        "outbox.dispatcher.enabled=true",
+        "outbox.dispatcher.batch-size=2",
+        "outbox.dispatcher.max-attempts=3",
+        "outbox.dispatcher.initial-backoff-ms=60000",
+        "outbox.dispatcher.max-backoff-ms=300000"
+})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OutboxDispatcher.class, OutboxDispatcherTest.Subscribers.class})
+class OutboxDispatcherTest {
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private RecordingSubscriber subscriber;
+
+    @BeforeEach
+    void clearOutbox() {
+        outboxEventRepository.deleteAll();
+        subscriber.failing.clear();
+        subscriber.handled.clear();
+    }
+
+    @Test
+    void failingEventIsBackedOffAndDoesNotBlockTheRest() {
+        OutboxEvent failing = save(1L);
+        List<OutboxEvent> others = List.of(save(2L), save(3L), save(4L), save(5L));
+        subscriber.failing.add(1L);
+
+        LocalDateTime before = LocalDateTime.now();
+        outboxDispatcher.dispatch();
+
+        // before the backoff, every later batch fetched the failing event again and burnt an attempt
+        assertEquals(1, subscriber.handled.get(1L));
+        OutboxEvent failed = reload(failing);
+        assertNull(failed.getProcessedAt());
+        assertEquals(1, failed.getAttempts());
+        assertEquals("subscriber down", failed.getLastError());
+        assertFalse(failed.getNextAttemptAt().isBefore(before.plusSeconds(60)), failed.getNextAttemptAt()::toString);
+        for (OutboxEvent event : others) {
+            assertNotNull(reload(event).getProcessedAt());
+            assertEquals(1, subscriber.handled.get(event.getAggregateId()));
+        }
+
+        // still backed off on the next poll
+        outboxDispatcher.dispatch();
+        assertEquals(1, subscriber.handled.get(1L));
+    }
+
+    @Test
+    void attemptsStopAtMaxAttempts() {
+        OutboxEvent event = save(1L);
+        subscriber.failing.add(1L);
+
+        for (int i = 0; i < 5; i++) {
+            outboxDispatcher.dispatch();
+            makeDue(event);
+        }
+
+        assertEquals(3, subscriber.handled.get(1L));
+        OutboxEvent exhausted = reload(event);
+        assertEquals(3, exhausted.getAttempts());
+        assertNull(exhausted.getProcessedAt());
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        assertEquals(60_000, outboxDispatcher.backoffMs(0));
+        assertEquals(120_000, outboxDispatcher.backoffMs(1));
+        assertEquals(240_000, outboxDispatcher.backoffMs(2));
+        assertEquals(300_000, outboxDispatcher.backoffMs(3));
+        assertEquals(300_000, outboxDispatcher.backoffMs(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void purgeRemovesOnlyProcessedEventsOlderThanTheRetention() {
+        LocalDateTime expired = LocalDateTime.now().minusHours(73);
+        // more than one purge batch of 2
+        List<OutboxEvent> old = List.of(processed(1L, expired), processed(2L, expired), processed(3L, expired));
+        OutboxEvent recent = processed(4L, LocalDateTime.now().minusHours(1));
+        OutboxEvent pending = save(5L);
+
+        outboxDispatcher.purgeProcessed();
+
+        old.forEach(event -> assertTrue(outboxEventRepository.findById(event.getEventId()).isEmpty()));
+        assertTrue(outboxEventRepository.findById(recent.getEventId()).isPresent());
+        assertTrue(outboxEventRepository.findById(pending.getEventId()).isPresent());
+    }
+
+    private OutboxEvent save(Long aggregateId) {
+        return outboxEventRepository.save(new OutboxEvent(OutboxEventType.STOCK_ADJUSTED, "Product", aggregateId, "{}"));
+    }
+
+    private OutboxEvent processed(Long aggregateId, LocalDateTime processedAt) {
+        OutboxEvent event = new OutboxEvent(OutboxEventType.STOCK_ADJUSTED, "Product", aggregateId, "{}");
+        event.setProcessedAt(processedAt);
+        return outboxEventRepository.save(event);
+    }
+
+    private void makeDue(OutboxEvent event) {
+        OutboxEvent current = reload(event);
+        current.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxEventRepository.save(current);
+    }
+
+    private OutboxEvent reload(OutboxEvent event) {
+        return outboxEventRepository.findById(event.getEventId()).orElseThrow();
+    }
+
+    static class RecordingSubscriber implements OutboxEventSubscriber {
+
+        final Set<Long> failing = ConcurrentHashMap.newKeySet();
+        final Map<Long, Integer> handled = new ConcurrentHashMap<>();
+
+        @Override
+        public boolean supports(OutboxEventType eventType) {
+            return eventType == OutboxEventType.STOCK_ADJUSTED;
+        }
+
+        @Override
+        public void handle(OutboxEvent event) {
+            handled.merge(event.getAggregateId(), 1, Integer::sum);
+            if (failing.contains(event.getAggregateId())) {
+                throw new IllegalStateException("subscriber down");
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class Subscribers {
+
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
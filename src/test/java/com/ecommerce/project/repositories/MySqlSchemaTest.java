@@ -0,0 +1,235 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.config.SchemaIndexVerifier;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.support.QueryCount;
+import com.ecommerce.project.support.SqlStatementCounter;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The MySQL migrations on a real MySQL 8: they apply from scratch, Hibernate's ddl-auto=validate accepts
+// the result (the context would not start otherwise), every declared index exists, and MySQL's own
+// EXPLAIN picks those indexes for the hot lookups once the tables hold enough rows to make a full scan
+// the worse plan. RepositoryQueryPlanTest checks the same lookups on H2 in every build; this one needs
+// Docker and runs with -Pmysql.
+@Tag("mysql")
+@Testcontainers
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+        "schema.index-check.fail-on-missing=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(SchemaIndexVerifier.class)
+class MySqlSchemaTest {
+
+    private static final int CATEGORIES = 200;
+    private static final int ROWS = 5000;
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static boolean seeded;
+
+    @DynamicPropertySource
+    static void mysql(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private SchemaIndexVerifier schemaIndexVerifier;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CatalogChangeRepository catalogChangeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        seeded = true;
+        LocalDateTime now = LocalDateTime.now();
+        batch("INSERT INTO categories (category_id, category_name) VALUES (?, ?)", CATEGORIES,
+                i -> new Object[]{i, "Category " + i});
+        batch("INSERT INTO products (product_id, category_id, product_name, description, quantity, price, discount, "
+                        + "special_price) VALUES (?, ?, ?, 'Plan product', 10, ?, 0, ?)", ROWS,
+                i -> new Object[]{i, i % CATEGORIES + 1, "Product " + i, i % 997, i % 997});
+        batch("INSERT INTO carts (cart_id, total_price) VALUES (?, 0)", ROWS / 10, i -> new Object[]{i});
+        batch("INSERT INTO cart_items (cart_item_id, cart_id, product_id, quantity, discount, product_price) "
+                + "VALUES (?, ?, ?, 1, 0, 10)", ROWS, i -> new Object[]{i, i % (ROWS / 10) + 1, i});
+        // almost every order is settled; the reaper looks for the few PENDING ones
+        batch("INSERT INTO orders (order_id, email, order_date, created_at, order_status, total_amount) "
+                        + "VALUES (?, ?, ?, ?, ?, 10)", ROWS,
+                i -> new Object[]{i, "user" + i % 500 + "@example.com", LocalDate.now().minusDays(i % 365),
+                        Timestamp.valueOf(now.minusDays(i % 365)), i % 100 == 0 ? "PENDING" : "Order Accepted !"});
+        batch("INSERT INTO catalog_changes (change_version, changed_at, entity_id, change_type, entity_type) "
+                        + "VALUES (?, ?, ?, 'UPSERT', 'PRODUCT')", ROWS,
+                i -> new Object[]{i, Timestamp.valueOf(now), i});
+        for (String table : List.of("categories", "products", "carts", "cart_items", "orders", "catalog_changes")) {
+            jdbcTemplate.execute("ANALYZE TABLE " + table);
+        }
+    }
+
+    @Test
+    void migrationsApplyAndEveryDeclaredIndexExists() throws SQLException {
+        MigrationInfo[] applied = flyway.info().applied();
+        assertTrue(applied.length > 0);
+        for (MigrationInfo migration : applied) {
+            assertEquals(MigrationState.SUCCESS, migration.getState(), migration.getScript());
+        }
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals(List.of(), schemaIndexVerifier.findMissingIndexes());
+    }
+
+    @Test
+    void orderHistoryReadsEmailIndexInOrderIdOrder() throws SQLException {
+        Plan plan = planOf(() -> orderRepository.findByEmailOrderByOrderIdDesc("user7@example.com"),
+                "user7@example.com");
+        plan.assertUses("idx_orders_email_order_id");
+        plan.assertNoFilesort();
+    }
+
+    @Test
+    void staleOrderScanUsesStatusDateIndex() throws SQLException {
+        LocalDate cutoffDate = LocalDate.now().minusDays(30);
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(30);
+        planOf(() -> orderRepository.findStaleOrderIds("PENDING", cutoffDate, cutoff, PageRequest.of(0, 10)),
+                "PENDING", cutoffDate, Timestamp.valueOf(cutoff))
+                .assertUses("idx_orders_status_date");
+    }
+
+    @Test
+    void cartLineLookupUsesCartProductIndex() throws SQLException {
+        planOf(() -> cartItemRepository.findCartItemByProductIdAndCartId(8L, 7L), 8L, 7L)
+                .assertUses("idx_cart_items_cart_product");
+    }
+
+    @Test
+    void categoryPageReadsCategoryPriceIndexInPriceOrder() throws SQLException {
+        Category category = categoryRepository.findById(3L).orElseThrow();
+        Plan plan = planOf(() -> productRepository.findByCategoryOrderByPriceAsc(category, PageRequest.of(0, 10)), 3L);
+        plan.assertUses("idx_products_category_price");
+        plan.assertNoFilesort();
+    }
+
+    @Test
+    void categoryByNameUsesNameIndex() throws SQLException {
+        planOf(() -> categoryRepository.findByCategoryName("Category 9"), "Category 9")
+                .assertUses("idx_categories_category_name");
+    }
+
+    @Test
+    void duplicateProductCheckUsesUniqueConstraintIndex() throws SQLException {
+        planOf(() -> productRepository.existsByCategoryCategoryIdAndProductName(1L, "Product 200"), 1L, "Product 200")
+                .assertUses("uk_products_category_name");
+    }
+
+    @Test
+    void deltaFeedSeeksOnChangeVersion() throws SQLException {
+        Plan plan = planOf(() -> catalogChangeRepository.findChangesSince((long) ROWS - 20, PageRequest.of(0, 10)),
+                (long) ROWS - 20);
+        plan.assertUses("idx_catalog_changes_change_version");
+    }
+
+    private void batch(String sql, int rows, IntFunction<Object[]> row) {
+        jdbcTemplate.batchUpdate(sql, IntStream.rangeClosed(1, rows).mapToObj(row).toList());
+    }
+
+    // MySQL's EXPLAIN of the first select the operation sent, with the given binds in order; a bind left
+    // over at the end is the page size
+    private Plan planOf(Executable operation, Object... binds) throws SQLException {
+        QueryCount count = SqlStatementCounter.count(operation);
+        String sql = count.statements().stream()
+                .filter(statement -> statement.stripLeading().toLowerCase(Locale.ROOT).startsWith("select"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No select in " + count));
+        List<String> keys = new ArrayList<>();
+        List<String> extras = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 1; i <= explain.getParameterMetaData().getParameterCount(); i++) {
+                explain.setObject(i, i <= binds.length ? binds[i - 1] : 10);
+            }
+            try (ResultSet rows = explain.executeQuery()) {
+                while (rows.next()) {
+                    keys.add(rows.getString("key"));
+                    extras.add(String.valueOf(rows.getString("Extra")));
+                }
+            }
+        }
+        return new Plan(sql + " binds " + Arrays.toString(binds), keys, extras);
+    }
+
+    private record Plan(String sql, List<String> keys, List<String> extras) {
+
+        void assertUses(String index) {
+            assertTrue(keys.contains(index), "expected " + index + " in " + this);
+        }
+
+        void assertNoFilesort() {
+            assertFalse(extras.stream().anyMatch(extra -> extra.contains("filesort")), "unexpected sort in " + this);
+        }
+    }
+}
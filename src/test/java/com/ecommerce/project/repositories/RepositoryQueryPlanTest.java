@@ -0,0 +1,130 @@
+package com.ecommerce.project.repositories;
+
+import com.ecommerce.project.config.SchemaIndexVerifier;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.support.QueryCount;
+import com.ecommerce.project.support.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The hot repository lookups must be planned on the indexes the migrations create: each test runs the
+// repository method, captures the SQL Hibernate sent and checks H2's EXPLAIN for the expected index.
+// H2 is not MySQL, but a query that cannot use the index on H2 will not use it on MySQL either;
+// MySqlSchemaTest checks the plans on MySQL itself.
+@DataJpaTest(properties = {
+        "schema.index-check.fail-on-missing=true"
+})
+@ActiveProfiles("test")
+@Import(SchemaIndexVerifier.class)
+class RepositoryQueryPlanTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SchemaIndexVerifier schemaIndexVerifier;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void migrationsCreateEveryDeclaredIndex() throws SQLException {
+        assertEquals(List.of(), schemaIndexVerifier.findMissingIndexes());
+    }
+
+    @Test
+    void ordersByEmailUseEmailIndexInOrderIdOrder() throws SQLException {
+        String plan = planOf(() -> orderRepository.findByEmailOrderByOrderIdDesc("user@example.com"));
+        assertUsesIndex(plan, "idx_orders_email_order_id");
+
+        assertUsesIndex(planOf(() -> orderRepository.findOrdersWithItemsByEmail("user@example.com", "PENDING")),
+                "idx_orders_email_order_id");
+        assertUsesIndex(planOf(() -> orderRepository.findByOrderIdAndEmail(1L, "user@example.com")),
+                "primary_key");
+    }
+
+    @Test
+    void staleOrderScanUsesStatusDateIndex() throws SQLException {
+        String plan = planOf(() -> orderRepository.findStaleOrderIds("PENDING", LocalDate.now(),
+                LocalDateTime.now(), PageRequest.of(0, 10)));
+        assertUsesIndex(plan, "idx_orders_status_date");
+    }
+
+    @Test
+    void cartLineLookupUsesCartProductIndex() throws SQLException {
+        String plan = planOf(() -> cartItemRepository.findCartItemByProductIdAndCartId(1L, 2L));
+        assertUsesIndex(plan, "idx_cart_items_cart_product");
+    }
+
+    @Test
+    void categoryPageSeeksOnCategory() throws SQLException {
+        Category category = categoryRepository.save(new Category(null, "Plans", null));
+        String plan = planOf(() -> productRepository.findByCategoryOrderByPriceAsc(category, PageRequest.of(0, 10)));
+        // H2 only skips the sort for an index whose first column is the sort key, so it may pick the FK
+        // index here; MySQL reads idx_products_category_price in price order for an equality on category_id
+        assertTrue(plan.toUpperCase(Locale.ROOT).matches("(?s).*/\\* PUBLIC\\.\\w+: CATEGORY_ID = \\?1 \\*/.*"),
+                "expected an index seek on category_id in plan:\n" + plan);
+    }
+
+    @Test
+    void categoryByNameUsesNameIndex() throws SQLException {
+        String plan = planOf(() -> categoryRepository.findByCategoryName("Plans"));
+        assertUsesIndex(plan, "idx_categories_category_name");
+    }
+
+    @Test
+    void duplicateProductCheckUsesUniqueConstraintIndex() throws SQLException {
+        String plan = planOf(() -> productRepository.existsByCategoryCategoryIdAndProductName(1L, "Product"));
+        assertUsesIndex(plan, "uk_products_category_name");
+    }
+
+    // EXPLAIN of the first statement the operation sent; bind values do not change H2's plan
+    private String planOf(Executable operation) throws SQLException {
+        QueryCount count = SqlStatementCounter.count(operation);
+        String sql = count.statements().stream()
+                .filter(statement -> statement.stripLeading().toLowerCase(Locale.ROOT).startsWith("select"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No select in " + count));
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 1; i <= explain.getParameterMetaData().getParameterCount(); i++) {
+                explain.setObject(i, null);
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        }
+    }
+
+    private static void assertUsesIndex(String plan, String index) {
+        assertTrue(plan.toLowerCase(Locale.ROOT).contains(index), "expected " + index + " in plan:\n" + plan);
+    }
+}
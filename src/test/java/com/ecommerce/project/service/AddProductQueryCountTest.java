@@ -0,0 +1,116 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.mapper.CartMapperImpl;
+import com.ecommerce.project.mapper.CategoryMapperImpl;
+import com.ecommerce.project.mapper.ProductMapperImpl;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.util.AuthUtil;
+import com.ecommerce.project.support.JpaStatistics;
+import com.ecommerce.project.support.JpaStatisticsTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// The duplicate-name check in addProduct must cost the same number of statements and load no
+// products, however many products the category already holds.
+@JpaStatisticsTest(properties = {
+        // measures database work; a cached category would not count as a load
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@Import({ProductServiceImpl.class, CartServiceImpl.class, FileServiceImpl.class, ImageServiceImpl.class,
+        CatalogChangeServiceImpl.class, AuthUtil.class, CartMapperImpl.class, CategoryMapperImpl.class,
+        ProductMapperImpl.class})
+class AddProductQueryCountTest {
+
+    private static final int[] CATEGORY_SIZES = {0, 50, 500};
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void duplicateCheckCostDoesNotGrowWithCategorySize() {
+        JpaStatistics statistics = new JpaStatistics(entityManagerFactory);
+
+        long[] statements = new long[CATEGORY_SIZES.length];
+        for (int i = 0; i < CATEGORY_SIZES.length; i++) {
+            Category category = seedCategory("Size " + CATEGORY_SIZES[i], CATEGORY_SIZES[i]);
+
+            JpaStatistics.Cost added = statistics.measure(
+                    () -> productService.addProduct(category.getCategoryId(), newProduct("New product")));
+            statements[i] = added.statements();
+            // only the category itself is loaded, never its products
+            assertEquals(1, added.entityLoads(),
+                    "entities loaded with " + CATEGORY_SIZES[i] + " products in the category");
+
+            JpaStatistics.Cost rejected = statistics.measure(() -> assertThrows(APIException.class,
+                    () -> productService.addProduct(category.getCategoryId(), newProduct("New product"))));
+            assertEquals(1, rejected.entityLoads());
+        }
+
+        for (int i = 1; i < statements.length; i++) {
+            assertEquals(statements[0], statements[i],
+                    "statements grew with category size " + CATEGORY_SIZES[i]);
+        }
+    }
+
+    @Test
+    void uniqueIndexRejectsDuplicateInsertedBehindTheCheck() {
+        Category category = seedCategory("Unique", 1);
+        Product duplicate = new Product();
+        duplicate.setProductName("Product 0");
+        duplicate.setDescription("Duplicate product");
+        duplicate.setQuantity(1);
+        duplicate.setCategory(category);
+
+        assertThrows(Exception.class, () -> productRepository.saveAndFlush(duplicate));
+    }
+
+    private Category seedCategory(String name, int products) {
+        Category category = categoryRepository.save(new Category(null, name, null));
+        List<Product> batch = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            Product product = new Product();
+            product.setProductName("Product " + i);
+            product.setDescription("Seeded product");
+            product.setQuantity(10);
+            product.setPrice(100);
+            product.setSpecialPrice(100);
+            product.setCategory(category);
+            batch.add(product);
+        }
+        productRepository.saveAll(batch);
+        return category;
+    }
+
+    private ProductDTO newProduct(String name) {
+        ProductDTO productDTO = new ProductDTO();
+        productDTO.setProductName(name);
+        productDTO.setDescription("Freshly added product");
+        productDTO.setQuantity(5);
+        productDTO.setPrice(200);
+        productDTO.setDiscount(10);
+        return productDTO;
+    }
+}
@@ -0,0 +1,218 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.jobs.CatalogChangePurger;
+import com.ecommerce.project.mapper.CategoryMapperImpl;
+import com.ecommerce.project.mapper.ProductMapperImpl;
+import com.ecommerce.project.model.CatalogChangeType;
+import com.ecommerce.project.model.CatalogEntityType;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.OutboxEvent;
+import com.ecommerce.project.model.OutboxEventType;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.CatalogChangesResponse;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.repositories.CatalogVersionRepository;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The delta feed pages by commit-ordered version without splitting a version, a writer cannot commit
+// a version while a lower one is still open, stock-only changes (recorded from STOCK_ADJUSTED events)
+// move the change version but not the catalog version (and reach the products version only once its
+// refresh interval is up), and clients behind the purge watermark are told to resync even once the log
+// is empty.
+@DataJpaTest(properties = {
+        "catalog.changes.purge.enabled=true",
+        "catalog.changes.retention-days=30",
+        "catalog.changes.purge.batch-size=2",
+        "catalog.products.stock-refresh-ms=60000"
+})
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CatalogChangeServiceImpl.class, StockChangeSubscriber.class, CatalogChangePurger.class, CategoryMapperImpl.class, ProductMapperImpl.class})
+class CatalogChangeServiceTest {
+
+    @Autowired
+    private CatalogChangeService catalogChangeService;
+
+    @Autowired
+    private StockChangeSubscriber stockChangeSubscriber;
+
+    @Autowired
+    private CatalogChangePurger catalogChangePurger;
+
+    @Autowired
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product first;
+    private Product second;
+    private Product third;
+
+    @BeforeEach
+    void seedProducts() {
+        Category category = categoryRepository.save(new Category(null, "Changes " + System.nanoTime(), null));
+        first = saveProduct(category, "First");
+        second = saveProduct(category, "Second");
+        third = saveProduct(category, "Third");
+    }
+
+    @Test
+    void deltaPagesByVersionWithoutSplittingOne() {
+        long since = catalogVersionRepository.findChangeVersion();
+        catalogChangeService.recordChange(CatalogEntityType.PRODUCT, first.getProductId(), CatalogChangeType.UPSERT);
+        // one version, two rows
+        catalogChangeService.recordProductChanges(List.of(second.getProductId(), third.getProductId()),
+                CatalogChangeType.UPSERT);
+
+        // a full page of two would end in the middle of the second version
+        CatalogChangesResponse page = catalogChangeService.getChanges(since, 2);
+        assertEquals(since + 1, page.getVersion());
+        assertTrue(page.isHasMore());
+        assertEquals(List.of(first.getProductId()), productIds(page));
+
+        // the second version alone fills the page, so all of it is returned
+        page = catalogChangeService.getChanges(page.getVersion(), 1);
+        assertEquals(since + 2, page.getVersion());
+        assertEquals(List.of(second.getProductId(), third.getProductId()), productIds(page));
+
+        page = catalogChangeService.getChanges(page.getVersion(), 2);
+        assertEquals(since + 2, page.getVersion());
+        assertFalse(page.isHasMore());
+        assertTrue(page.getProducts().isEmpty());
+    }
+
+    @Test
+    void laterWriterWaitsForTheOpenVersion() throws Exception {
+        long since = catalogVersionRepository.findChangeVersion();
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            catalogChangeService.recordChange(CatalogEntityType.PRODUCT, first.getProductId(), CatalogChangeType.UPSERT);
+            recorded.countDown();
+            await(commit);
+        }));
+        assertTrue(recorded.await(10, TimeUnit.SECONDS));
+        CompletableFuture<Void> fast = CompletableFuture.runAsync(() -> catalogChangeService.recordChange(
+                CatalogEntityType.PRODUCT, second.getProductId(), CatalogChangeType.UPSERT));
+
+        // blocked on the counter row until the first writer commits, so nothing newer is visible
+        Thread.sleep(300);
+        assertFalse(fast.isDone());
+        assertEquals(since, catalogChangeService.getChanges(since, 10).getVersion());
+
+        commit.countDown();
+        slow.get(10, TimeUnit.SECONDS);
+        fast.get(10, TimeUnit.SECONDS);
+        CatalogChangesResponse page = catalogChangeService.getChanges(since, 10);
+        assertEquals(since + 2, page.getVersion());
+        assertEquals(List.of(first.getProductId(), second.getProductId()), productIds(page));
+    }
+
+    @Test
+    void stockChangesMoveOnlyTheChangeVersion() {
+        long catalogVersion = catalogChangeService.currentVersion();
+        long since = catalogChangeService.currentChangeVersion();
+
+        stockChangeSubscriber.handle(new OutboxEvent(OutboxEventType.STOCK_ADJUSTED, "Product", first.getProductId(), "{}"));
+
+        assertEquals(catalogVersion, catalogChangeService.currentVersion());
+        assertEquals(since + 1, catalogChangeService.currentChangeVersion());
+        assertEquals(List.of(first.getProductId()), productIds(catalogChangeService.getChanges(since, 10)));
+    }
+
+    @Test
+    void productsVersionFollowsCatalogWritesAtOnceAndStockChangesThrottled() {
+        long productsVersion = catalogChangeService.currentProductsVersion();
+
+        stockChangeSubscriber.handle(new OutboxEvent(OutboxEventType.STOCK_ADJUSTED, "Product", first.getProductId(), "{}"));
+        // within stock-refresh-ms of the last sample
+        assertEquals(productsVersion, catalogChangeService.currentProductsVersion());
+
+        catalogChangeService.recordChange(CatalogEntityType.PRODUCT, second.getProductId(), CatalogChangeType.UPSERT);
+        // the new sample covers the stock change too
+        assertEquals(catalogChangeService.currentChangeVersion(), catalogChangeService.currentProductsVersion());
+        assertEquals(productsVersion + 2, catalogChangeService.currentProductsVersion());
+    }
+
+    @Test
+    void clientsBehindThePurgeWatermarkResync() {
+        long since = catalogVersionRepository.findChangeVersion();
+        catalogChangeService.recordChange(CatalogEntityType.PRODUCT, first.getProductId(), CatalogChangeType.UPSERT);
+        catalogChangeService.recordChange(CatalogEntityType.PRODUCT, second.getProductId(), CatalogChangeType.UPSERT);
+        catalogChangeService.recordChange(CatalogEntityType.PRODUCT, third.getProductId(), CatalogChangeType.UPSERT);
+
+        // everything logged so far is past the retention, in more than one purge batch
+        jdbcTemplate.update("UPDATE catalog_changes SET changed_at = ?", LocalDateTime.now().minusDays(31));
+        catalogChangePurger.purgeOldChanges();
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM catalog_changes", Long.class));
+
+        // an empty log no longer looks like "nothing changed"
+        CatalogChangesResponse stale = catalogChangeService.getChanges(since, 10);
+        assertTrue(stale.isResyncRequired());
+        assertEquals(since + 3, stale.getVersion());
+
+        CatalogChangesResponse current = catalogChangeService.getChanges(since + 3, 10);
+        assertFalse(current.isResyncRequired());
+        assertEquals(since + 3, current.getVersion());
+    }
+
+    private List<Long> productIds(CatalogChangesResponse response) {
+        return response.getProducts().stream().map(ProductDTO::getProductId).toList();
+    }
+
+    private Product saveProduct(Category category, String name) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setDescription("Catalog change");
+        product.setQuantity(10);
+        product.setPrice(10);
+        product.setSpecialPrice(10);
+        product.setCategory(category);
+        return productRepository.save(product);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("latch timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.OutboxEventType;
+import com.ecommerce.project.payload.LinePayConfirmDTO;
+import com.ecommerce.project.repositories.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+// The LINE Pay confirm call runs outside any transaction, so a slow gateway holds no pooled connection;
+// LINEPAY_CONFIRMED is written afterwards in its own transaction, and only for a confirmed payment.
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({LinePayServiceImpl.class, OutboxServiceImpl.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class LinePayServiceTest {
+
+    @MockBean
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private LinePayService linePayService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void confirmCallsLinePayOutsideTheTransactionThenPublishes() {
+        AtomicBoolean inTransaction = new AtomicBoolean(true);
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(String.class))).thenAnswer(invocation -> {
+            inTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return ResponseEntity.ok("{\"returnCode\":\"0000\",\"returnMessage\":\"Success.\"}");
+        });
+        long before = countConfirmed();
+
+        assertEquals("CONFIRMED", linePayService.confirmPayment("2026101900001", confirm(41L)));
+
+        assertFalse(inTransaction.get());
+        assertEquals(before + 1, countConfirmed());
+    }
+
+    @Test
+    void refusedConfirmPublishesNothing() {
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("{\"returnCode\":\"1172\",\"returnMessage\":\"Existing same orderId.\"}"));
+        long before = countConfirmed();
+
+        assertThrows(RuntimeException.class, () -> linePayService.confirmPayment("2026101900002", confirm(42L)));
+
+        assertEquals(before, countConfirmed());
+    }
+
+    private long countConfirmed() {
+        return outboxEventRepository.findAll().stream()
+                .filter(event -> event.getEventType() == OutboxEventType.LINEPAY_CONFIRMED)
+                .count();
+    }
+
+    private LinePayConfirmDTO confirm(Long orderId) {
+        LinePayConfirmDTO confirm = new LinePayConfirmDTO();
+        confirm.setOrderId(orderId);
+        confirm.setAmount(300);
+        confirm.setCurrency("TWD");
+        return confirm;
+    }
+}
@@ -0,0 +1,139 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.mapper.CartMapperImpl;
+import com.ecommerce.project.mapper.CategoryMapperImpl;
+import com.ecommerce.project.mapper.OrderMapperImpl;
+import com.ecommerce.project.mapper.ProductMapperImpl;
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.repositories.*;
+import com.ecommerce.project.util.AuthUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.ecommerce.project.support.JpaStatistics;
+import com.ecommerce.project.support.JpaStatisticsTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Checkout cost vs. cart size: with pooled sequence ids and JDBC batching the number of
+// prepared statements per placeOrder must not grow with the number of cart lines.
+@JpaStatisticsTest
+@Import({OrderServiceImpl.class, CartServiceImpl.class, OutboxServiceImpl.class,
+        AuthUtil.class, CartMapperImpl.class, CategoryMapperImpl.class, OrderMapperImpl.class, ProductMapperImpl.class,
+        SimpleMeterRegistry.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class OrderCheckoutBenchmarkTest {
+
+    private static final int[] CART_SIZES = {1, 10, 50};
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Category category;
+    private int userSeq;
+
+    @Test
+    void statementsPerCheckoutDoNotGrowWithCartSize() {
+        JpaStatistics statistics = new JpaStatistics(entityManagerFactory);
+        category = categoryRepository.save(new Category(null, "Benchmark", null));
+
+        // warm up JIT, connection pool and the sequence pools
+        for (int i = 0; i < ROUNDS; i++) {
+            checkout(statistics, 10);
+        }
+
+        // fewest statements over the rounds per cart size
+        Map<Integer, Long> statements = new LinkedHashMap<>();
+        for (int size : CART_SIZES) {
+            long fewest = Long.MAX_VALUE;
+            for (int i = 0; i < ROUNDS; i++) {
+                fewest = Math.min(fewest, checkout(statistics, size).statements());
+            }
+            statements.put(size, fewest);
+        }
+
+        long smallest = statements.get(CART_SIZES[0]);
+        long largest = statements.get(CART_SIZES[CART_SIZES.length - 1]);
+        assertTrue(largest <= smallest + 2, "statements grew with cart size: " + statements);
+    }
+
+    private JpaStatistics.Cost checkout(JpaStatistics statistics, int cartLines) {
+        String email = seedCart(cartLines);
+        Long addressId = addressRepository.findAll().stream()
+                .filter(a -> a.getUser().getEmail().equals(email))
+                .findFirst().orElseThrow().getAddressId();
+
+        return statistics.measure(() -> {
+            OrderDTO order = orderService.placeOrder(email, addressId, "card", "Stripe",
+                    "pi_benchmark", "succeeded", "ok");
+            assertEquals(cartLines, order.getOrderItems().size());
+        });
+    }
+
+    private String seedCart(int cartLines) {
+        int n = ++userSeq;
+        User user = userRepository.save(new User("bench" + n, "bench" + n + "@example.com", "password"));
+
+        Address address = new Address("Bench User", "0912345678", "Taipei", "Xinyi", "110", "Benchmark Road 1");
+        address.setUser(user);
+        addressRepository.save(address);
+
+        Cart cart = new Cart();
+        cart.setUser(user);
+        cart = cartRepository.save(cart);
+
+        double total = 0;
+        for (int i = 0; i < cartLines; i++) {
+            Product product = new Product();
+            product.setProductName("Product " + n + "-" + i);
+            product.setDescription("Benchmark product");
+            product.setQuantity(1000);
+            product.setPrice(100);
+            product.setSpecialPrice(90);
+            product.setCategory(category);
+            product = productRepository.save(product);
+
+            CartItem item = new CartItem();
+            item.setCart(cart);
+            item.setProduct(product);
+            item.setQuantity(2);
+            item.setProductPrice(product.getSpecialPrice());
+            cartItemRepository.save(item);
+            total += product.getSpecialPrice() * 2;
+        }
+        cart.setTotalPrice(total);
+        cartRepository.save(cart);
+        return user.getEmail();
+    }
+}
@@ -0,0 +1,156 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.repositories.*;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The export scrolls through order items with the configured fetch size (smaller than the result here,
+// so several fetches are needed) on the embedded database, in CSV and NDJSON, and sends the CSV header
+// before the query runs.
+@DataJpaTest(properties = {
+        "export.orders.fetch-size=2"
+})
+@ActiveProfiles("test")
+@Import(OrderExportServiceImpl.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class OrderExportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+    private static final String HEADER =
+            "orderId,orderDate,email,orderStatus,totalAmount,paymentMethod,pgName,productId,productName,quantity,unitPrice,discount";
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Product plain;
+    private Product quoted;
+    private Long acceptedOrderId;
+
+    @BeforeEach
+    void seedOrders() {
+        Category category = categoryRepository.save(new Category(null, "Export", null));
+        plain = saveProduct(category, "Plain");
+        quoted = saveProduct(category, "Mug, \"large\"");
+
+        acceptedOrderId = saveOrder(DAY, "Order Accepted !", 3).getOrderId();
+        saveOrder(DAY, AppConstants.ORDER_STATUS_PENDING, 1);
+        // outside the requested range
+        saveOrder(DAY.minusDays(10), "Order Accepted !", 1);
+    }
+
+    @Test
+    void csvStreamsEveryItemInTheRangeInOrder() throws Exception {
+        List<String> lines = export(null, OrderExportService.FORMAT_CSV).lines().toList();
+
+        assertEquals(HEADER, lines.get(0));
+        // 3 + 1 items, more than one fetch of 2 rows
+        assertEquals(5, lines.size());
+        assertEquals(acceptedOrderId + ",2026-03-02,buyer@example.com,Order Accepted !,30.0,card,Stripe,"
+                + plain.getProductId() + ",Plain,1,10.0,0.0", lines.get(1));
+        assertEquals(acceptedOrderId + ",2026-03-02,buyer@example.com,Order Accepted !,30.0,card,Stripe,"
+                + quoted.getProductId() + ",\"Mug, \"\"large\"\"\",1,10.0,0.0", lines.get(2));
+    }
+
+    @Test
+    void statusFilterAndNdjson() throws Exception {
+        List<String> lines = export("Order Accepted !", OrderExportService.FORMAT_NDJSON).lines().toList();
+
+        assertEquals(3, lines.size());
+        for (String line : lines) {
+            JsonNode row = objectMapper.readTree(line);
+            assertEquals(acceptedOrderId, row.get("orderId").asLong());
+            assertEquals("Order Accepted !", row.get("orderStatus").asText());
+        }
+        assertEquals("Mug, \"large\"", objectMapper.readTree(lines.get(1)).get("productName").asText());
+    }
+
+    @Test
+    void headerIsFlushedBeforeTheRows() throws Exception {
+        ByteArrayOutputStream firstFlush = new ByteArrayOutputStream();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                if (firstFlush.size() == 0) {
+                    firstFlush.writeBytes(toByteArray());
+                }
+            }
+        };
+
+        orderExportService.exportOrders(DAY, DAY, null, OrderExportService.FORMAT_CSV, out);
+
+        assertEquals(HEADER + "\n", firstFlush.toString(StandardCharsets.UTF_8));
+        assertEquals(5, out.toString(StandardCharsets.UTF_8).lines().count());
+    }
+
+    private String export(String status, String format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.exportOrders(DAY, DAY, status, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private Product saveProduct(Category category, String name) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setDescription("Export product");
+        product.setQuantity(100);
+        product.setPrice(10);
+        product.setSpecialPrice(10);
+        product.setCategory(category);
+        return productRepository.save(product);
+    }
+
+    private Order saveOrder(LocalDate date, String status, int items) {
+        Payment payment = paymentRepository.save(new Payment("card", "pi_export", "succeeded", "ok", "Stripe"));
+        Order order = new Order();
+        order.setEmail("buyer@example.com");
+        order.setOrderDate(date);
+        order.setOrderStatus(status);
+        order.setTotalAmount(10.0 * items);
+        order.setPayment(payment);
+        order = orderRepository.save(order);
+        for (int i = 0; i < items; i++) {
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProduct(i % 2 == 0 ? plain : quoted);
+            item.setQuantity(1);
+            item.setOrderedProductPrice(10);
+            orderItemRepository.save(item);
+        }
+        return order;
+    }
+}
@@ -0,0 +1,284 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.config.AppConstants;
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.mapper.CartMapperImpl;
+import com.ecommerce.project.mapper.CategoryMapperImpl;
+import com.ecommerce.project.mapper.OrderMapperImpl;
+import com.ecommerce.project.mapper.ProductMapperImpl;
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.payload.OrderDTO;
+import com.ecommerce.project.repositories.*;
+import com.ecommerce.project.util.AuthUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Checkout decrements stock with a conditional UPDATE: it never sells more than the database holds,
+// even when the cached Product still shows more, and a short line rolls the whole order back.
+// A LINE Pay order is placed only while it is PENDING, and only once, even against the reaper.
+// Checkout leaves the catalog_versions row alone: stock changes reach the catalog through the outbox.
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrderServiceImpl.class, CartServiceImpl.class, OutboxServiceImpl.class,
+        AuthUtil.class, CartMapperImpl.class, CategoryMapperImpl.class, OrderMapperImpl.class, ProductMapperImpl.class,
+        SimpleMeterRegistry.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class OrderServiceTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Category category;
+    private static int seq;
+
+    @BeforeEach
+    void createCategory() {
+        category = categoryRepository.save(new Category(null, "Orders " + (++seq), null));
+    }
+
+    @Test
+    void checkoutDecrementsStockAndReportsWhatIsLeft() {
+        Product product = saveProduct(5);
+        Customer customer = customerWithCart(List.of(product), 2);
+        long changeVersion = changeVersion();
+
+        OrderDTO order = place(customer);
+
+        assertEquals(3, stockOf(product));
+        assertEquals(3, order.getOrderItems().get(0).getProduct().getQuantity());
+        assertEquals(changeVersion, changeVersion());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE event_type = 'STOCK_ADJUSTED' "
+                + "AND aggregate_id = ?", Long.class, product.getProductId()));
+    }
+
+    @Test
+    void staleCachedStockCannotOversell() {
+        Product product = saveProduct(5);
+        // loads the row into the second-level cache
+        productRepository.findById(product.getProductId()).orElseThrow();
+        // sold elsewhere: the cached entity still says 5
+        jdbcTemplate.update("UPDATE products SET quantity = 1 WHERE product_id = ?", product.getProductId());
+        Customer customer = customerWithCart(List.of(product), 2);
+
+        assertThrows(APIException.class, () -> place(customer));
+
+        assertEquals(1, stockOf(product));
+    }
+
+    @Test
+    void shortLineRollsBackTheWholeOrder() {
+        Product plenty = saveProduct(10);
+        Product scarce = saveProduct(1);
+        Customer customer = customerWithCart(List.of(plenty, scarce), 2);
+        long orders = orderRepository.count();
+
+        assertThrows(APIException.class, () -> place(customer));
+
+        assertEquals(10, stockOf(plenty));
+        assertEquals(1, stockOf(scarce));
+        assertEquals(orders, orderRepository.count());
+    }
+
+    @Test
+    void secondBuyerOfTheLastUnitIsRefused() {
+        Product product = saveProduct(1);
+        Customer first = customerWithCart(List.of(product), 1);
+        Customer second = customerWithCart(List.of(product), 1);
+
+        place(first);
+        assertThrows(APIException.class, () -> place(second));
+
+        assertEquals(0, stockOf(product));
+    }
+
+    @Test
+    void pendingOrderIsPlacedOnlyOnce() {
+        Product product = saveProduct(5);
+        Customer customer = customerWithCart(List.of(product), 1);
+        Order pending = savePendingOrder(customer);
+
+        placePending(customer, pending);
+        // a repeated confirmation; the cart is empty by now, but the status is checked first
+        assertThrows(APIException.class, () -> placePending(customer, pending));
+
+        assertEquals("Order Accepted !", statusOf(pending));
+        assertEquals(4, stockOf(product));
+    }
+
+    @Test
+    void expiredOrderIsNotPlaced() {
+        Product product = saveProduct(5);
+        Customer customer = customerWithCart(List.of(product), 1);
+        Order expired = savePendingOrder(customer);
+        jdbcTemplate.update("UPDATE orders SET order_status = ? WHERE order_id = ?",
+                AppConstants.ORDER_STATUS_EXPIRED, expired.getOrderId());
+
+        assertThrows(APIException.class, () -> placePending(customer, expired));
+
+        assertEquals(AppConstants.ORDER_STATUS_EXPIRED, statusOf(expired));
+        assertEquals(5, stockOf(product));
+    }
+
+    @Test
+    void reaperWaitsForAnOrderBeingPlaced() throws Exception {
+        Product product = saveProduct(5);
+        Customer customer = customerWithCart(List.of(product), 1);
+        Order pending = savePendingOrder(customer);
+        CountDownLatch placed = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        CompletableFuture<Void> placing = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            placePending(customer, pending);
+            placed.countDown();
+            await(commit);
+        }));
+        assertTrue(placed.await(10, TimeUnit.SECONDS));
+        CompletableFuture<Integer> reaping = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> orderRepository.updateOrderStatus(List.of(pending.getOrderId()),
+                        AppConstants.ORDER_STATUS_PENDING, AppConstants.ORDER_STATUS_EXPIRED)));
+
+        Thread.sleep(300);
+        assertFalse(reaping.isDone());
+        commit.countDown();
+        placing.get(10, TimeUnit.SECONDS);
+
+        assertEquals(0, reaping.get(10, TimeUnit.SECONDS));
+        assertEquals("Order Accepted !", statusOf(pending));
+    }
+
+    private OrderDTO place(Customer customer) {
+        return orderService.placeOrder(customer.email(), customer.addressId(), "card", "Stripe",
+                "pi_test", "succeeded", "ok");
+    }
+
+    private OrderDTO placePending(Customer customer, Order order) {
+        return orderService.placeOrder(customer.email(), customer.addressId(), "linepay", "LINE Pay",
+                "tx_test", "succeeded", "ok", order.getOrderId());
+    }
+
+    private Order savePendingOrder(Customer customer) {
+        Order order = new Order();
+        order.setEmail(customer.email());
+        order.setOrderDate(LocalDate.now());
+        order.setOrderStatus(AppConstants.ORDER_STATUS_PENDING);
+        order.setTotalAmount(100.0);
+        return orderRepository.save(order);
+    }
+
+    private String statusOf(Order order) {
+        return jdbcTemplate.queryForObject("SELECT order_status FROM orders WHERE order_id = ?",
+                String.class, order.getOrderId());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("latch timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long changeVersion() {
+        return jdbcTemplate.queryForObject("SELECT change_version FROM catalog_versions WHERE id = 1", Long.class);
+    }
+
+    private int stockOf(Product product) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM products WHERE product_id = ?",
+                Integer.class, product.getProductId());
+    }
+
+    private Product saveProduct(int quantity) {
+        Product product = new Product();
+        product.setProductName("Stock " + seq + "-" + System.nanoTime());
+        product.setDescription("Stocked product");
+        product.setQuantity(quantity);
+        product.setPrice(100);
+        product.setSpecialPrice(100);
+        product.setCategory(category);
+        return productRepository.save(product);
+    }
+
+    private Customer customerWithCart(List<Product> products, int quantityEach) {
+        int n = ++seq;
+        User user = userRepository.save(new User("buyer" + n, "buyer" + n + "@example.com", "password"));
+
+        Address address = new Address("Buyer", "0912345678", "Taipei", "Xinyi", "110", "Stock Road 1");
+        address.setUser(user);
+        address = addressRepository.save(address);
+
+        Cart cart = new Cart();
+        cart.setUser(user);
+        cart = cartRepository.save(cart);
+        double total = 0;
+        for (Product product : products) {
+            CartItem item = new CartItem();
+            item.setCart(cart);
+            item.setProduct(product);
+            item.setQuantity(quantityEach);
+            item.setProductPrice(product.getSpecialPrice());
+            cartItemRepository.save(item);
+            total += product.getSpecialPrice() * quantityEach;
+        }
+        cart.setTotalPrice(total);
+        cartRepository.save(cart);
+        return new Customer(user.getEmail(), address.getAddressId());
+    }
+
+    private record Customer(String email, Long addressId) {
+    }
+}
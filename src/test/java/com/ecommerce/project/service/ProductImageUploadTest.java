@@ -0,0 +1,94 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.ResourceNotFoundException;
+import com.ecommerce.project.mapper.CartMapperImpl;
+import com.ecommerce.project.mapper.CategoryMapperImpl;
+import com.ecommerce.project.mapper.ProductMapperImpl;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.util.AuthUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The image upload runs outside any transaction, so a slow Cloudinary call holds no pooled connection;
+// the product is updated afterwards, and an unknown product is refused before anything is uploaded.
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProductServiceImpl.class, CartServiceImpl.class, FileServiceImpl.class, CatalogChangeServiceImpl.class,
+        AuthUtil.class, CartMapperImpl.class, CategoryMapperImpl.class, ProductMapperImpl.class})
+class ProductImageUploadTest {
+
+    @MockBean
+    private ImageService imageService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void uploadRunsOutsideTheTransaction() throws Exception {
+        Product product = saveProduct();
+        AtomicBoolean inTransaction = new AtomicBoolean(true);
+        when(imageService.upload(any())).thenAnswer(invocation -> {
+            inTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+            return "https://images.example.com/phone.png";
+        });
+
+        ProductDTO updated = productService.updateProductImage(product.getProductId(), image());
+
+        assertFalse(inTransaction.get());
+        assertEquals("https://images.example.com/phone.png", updated.getImage());
+        assertEquals("https://images.example.com/phone.png",
+                productRepository.findById(product.getProductId()).orElseThrow().getImage());
+    }
+
+    @Test
+    void unknownProductIsRefusedBeforeUploading() throws Exception {
+        assertThrows(ResourceNotFoundException.class, () -> productService.updateProductImage(987654L, image()));
+
+        verify(imageService, never()).upload(any());
+    }
+
+    private Product saveProduct() {
+        Category category = categoryRepository.save(new Category(null, "Images " + System.nanoTime(), null));
+        Product product = new Product();
+        product.setProductName("Imaged phone");
+        product.setDescription("Image upload");
+        product.setQuantity(1);
+        product.setPrice(100);
+        product.setSpecialPrice(100);
+        product.setCategory(category);
+        return productRepository.save(product);
+    }
+
+    private MockMultipartFile image() {
+        return new MockMultipartFile("image", "phone.png", "image/png", new byte[]{1, 2, 3});
+    }
+}
@@ -0,0 +1,89 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.payload.ProductImportErrorDTO;
+import com.ecommerce.project.payload.ProductImportResponse;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Imports in chunks of 3: a row the database refuses rolls back its chunk, which is then retried row by
+// row so only that row is reported; rows rejected before the write are counted without touching a chunk.
+@SpringBootTest(properties = {
+        "product.import.batch-size=3"
+})
+@ActiveProfiles("test")
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Category category;
+
+    @BeforeEach
+    void createCategory() {
+        category = categoryRepository.save(new Category(null, "Import " + System.nanoTime(), null));
+    }
+
+    @Test
+    void rowTheDatabaseRefusesIsReportedAndTheRestOfItsChunkImported() throws Exception {
+        // longer than the varchar(255) description column, so only the insert can catch it
+        String tooLong = "x".repeat(300);
+        String csv = "productName,description,categoryId,quantity,price,discount\n"
+                + row("Lamp", "Desk lamp") + row("Chair", tooLong) + row("Table", "Oak table")
+                + row("Shelf", "Wall shelf") + row("Stool", "Bar stool");
+
+        ProductImportResponse response = importCsv(csv);
+
+        assertEquals(5, response.getTotalRows());
+        assertEquals(4, response.getImported());
+        assertEquals(1, response.getFailed());
+        ProductImportErrorDTO error = response.getErrors().get(0);
+        assertEquals(2, error.getRow());
+        assertTrue(error.getMessage().startsWith("Row rolled back: "), error.getMessage());
+        assertEquals(Set.of("Lamp", "Table", "Shelf", "Stool"),
+                Set.copyOf(productRepository.findProductNamesByCategoryId(category.getCategoryId())));
+    }
+
+    @Test
+    void invalidAndDuplicateRowsAreRejectedBeforeTheWrite() throws Exception {
+        String csv = "productName,description,categoryId,quantity,price,discount\n"
+                + row("Lamp", "Desk lamp") + row("Lamp", "Second lamp") + row("No", "Too short")
+                + "Table,Oak table," + category.getCategoryId() + ",1,abc,0\n";
+
+        ProductImportResponse response = importCsv(csv);
+
+        assertEquals(4, response.getTotalRows());
+        assertEquals(1, response.getImported());
+        assertEquals(List.of("Product already exist!!", "Product name must contain atleast 3 characters"),
+                response.getErrors().stream().map(ProductImportErrorDTO::getMessage).limit(2).toList());
+        assertEquals(3, response.getFailed());
+    }
+
+    private String row(String name, String description) {
+        return name + "," + description + "," + category.getCategoryId() + ",5,20,10\n";
+    }
+
+    private ProductImportResponse importCsv(String csv) throws Exception {
+        return productImportService.importProducts(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ProductImportService.FORMAT_CSV);
+    }
+}
@@ -0,0 +1,82 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.model.SalesRollup;
+import com.ecommerce.project.model.SalesRollupType;
+import com.ecommerce.project.payload.DailySalesReportDTO;
+import com.ecommerce.project.payload.SalesReportDTO;
+import com.ecommerce.project.repositories.SalesRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Reports read straight from sales_rollups rows: both ends of the date range are included and the days
+// around it are not, rankings are ordered by revenue, the limit is clamped to [1, report.max-limit] and
+// a range that ends before it starts is refused by every report.
+@DataJpaTest(properties = "report.max-limit=3")
+@ActiveProfiles("test")
+@Import(ReportServiceImpl.class)
+class ReportServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 5, 10);
+    private static final LocalDate TO = LocalDate.of(2026, 5, 12);
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+
+    @Test
+    void rangeIncludesBothEndsAndNothingOutside() {
+        for (LocalDate day : List.of(FROM.minusDays(1), FROM, FROM.plusDays(1), TO, TO.plusDays(1))) {
+            salesRollupRepository.save(new SalesRollup(SalesRollupType.DAILY, day, 0L, 1, 2, 10.0));
+            salesRollupRepository.save(new SalesRollup(SalesRollupType.PRODUCT, day, 7L, 1, 2, 10.0));
+        }
+
+        List<DailySalesReportDTO> daily = reportService.getDailySales(FROM, TO);
+        assertEquals(List.of(FROM, FROM.plusDays(1), TO), daily.stream().map(DailySalesReportDTO::getSalesDate).toList());
+        assertEquals(List.of(new SalesReportDTO(7L, 3L, 6L, 30.0)), reportService.getProductSales(FROM, TO, 10));
+
+        // a single day is a valid range
+        assertEquals(1, reportService.getDailySales(TO, TO).size());
+        assertEquals(List.of(new SalesReportDTO(7L, 1L, 2L, 10.0)), reportService.getProductSales(TO, TO, 10));
+    }
+
+    @Test
+    void limitIsClampedToOneAndTheMaximum() {
+        // five products, revenue ranked 5 > 4 > 3 > 2 > 1
+        for (long productId = 1; productId <= 5; productId++) {
+            salesRollupRepository.save(new SalesRollup(SalesRollupType.PRODUCT, FROM, productId, 1, 1, productId * 10.0));
+        }
+
+        assertEquals(List.of(5L, 4L), productIds(2));
+        assertEquals(List.of(5L, 4L, 3L), productIds(3));
+        assertEquals(List.of(5L, 4L, 3L), productIds(100));
+        assertEquals(List.of(5L, 4L, 3L), productIds(Integer.MAX_VALUE));
+        assertEquals(List.of(5L), productIds(0));
+        assertEquals(List.of(5L), productIds(-5));
+        assertEquals(List.of(5L), productIds(Integer.MIN_VALUE));
+    }
+
+    @Test
+    void everyReportRefusesAnInvertedRange() {
+        LocalDate before = FROM.minusDays(1);
+        assertThrows(APIException.class, () -> reportService.getDailySales(FROM, before));
+        assertThrows(APIException.class, () -> reportService.getProductSales(FROM, before, 10));
+        assertThrows(APIException.class, () -> reportService.getCategorySales(FROM, before, 10));
+        assertThrows(APIException.class, () -> reportService.getSellerSales(FROM, before, 10));
+    }
+
+    private List<Long> productIds(int limit) {
+        return reportService.getProductSales(FROM, TO, limit).stream().map(SalesReportDTO::getDimensionId).toList();
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.exceptions.APIException;
+import com.ecommerce.project.model.OutboxEvent;
+import com.ecommerce.project.model.OutboxEventType;
+import com.ecommerce.project.payload.DailySalesReportDTO;
+import com.ecommerce.project.payload.OrderEventDTO;
+import com.ecommerce.project.payload.OrderEventItemDTO;
+import com.ecommerce.project.payload.SalesReportDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// ORDER_PLACED events folded into sales_rollups and read back through the report service: every
+// dimension uses the same revenue, a redelivered event is counted once and the limit is bounded.
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({SalesRollupSubscriber.class, ReportServiceImpl.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class SalesRollupSubscriberTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    @Autowired
+    private SalesRollupSubscriber subscriber;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void dailyRevenueMatchesTheSumOfTheDimensionRows() throws Exception {
+        // the order total deliberately disagrees with its lines
+        subscriber.handle(orderPlaced(1L, 999.0,
+                new OrderEventItemDTO(11L, 2, 50.0, 21L, 31L),
+                new OrderEventItemDTO(12L, 1, 30.0, 22L, 31L)));
+        subscriber.handle(orderPlaced(2L, 20.0,
+                new OrderEventItemDTO(11L, 1, 20.0, 21L, 32L)));
+
+        List<DailySalesReportDTO> daily = reportService.getDailySales(DAY, DAY);
+        assertEquals(1, daily.size());
+        assertEquals(2L, daily.get(0).getOrderCount());
+        assertEquals(4L, daily.get(0).getUnitsSold());
+        assertEquals(150.0, daily.get(0).getRevenue());
+
+        List<SalesReportDTO> products = reportService.getProductSales(DAY, DAY, 10);
+        assertEquals(List.of(new SalesReportDTO(11L, 2L, 3L, 120.0), new SalesReportDTO(12L, 1L, 1L, 30.0)), products);
+        assertEquals(List.of(new SalesReportDTO(21L, 2L, 3L, 120.0), new SalesReportDTO(22L, 1L, 1L, 30.0)),
+                reportService.getCategorySales(DAY, DAY, 10));
+        assertEquals(List.of(new SalesReportDTO(31L, 1L, 3L, 130.0), new SalesReportDTO(32L, 1L, 1L, 20.0)),
+                reportService.getSellerSales(DAY, DAY, 10));
+    }
+
+    @Test
+    void redeliveredEventIsCountedOnce() throws Exception {
+        OutboxEvent event = orderPlaced(3L, 40.0, new OrderEventItemDTO(11L, 4, 10.0, 21L, 31L));
+        subscriber.handle(event);
+        subscriber.handle(event);
+
+        DailySalesReportDTO daily = reportService.getDailySales(DAY, DAY).get(0);
+        assertEquals(1L, daily.getOrderCount());
+        assertEquals(40.0, daily.getRevenue());
+    }
+
+    @Test
+    void limitIsClampedAndRangeValidated() throws Exception {
+        subscriber.handle(orderPlaced(4L, 30.0,
+                new OrderEventItemDTO(11L, 1, 10.0, 21L, 31L),
+                new OrderEventItemDTO(12L, 1, 20.0, 22L, 31L)));
+
+        assertEquals(1, reportService.getProductSales(DAY, DAY, -5).size());
+        assertEquals(1, reportService.getProductSales(DAY, DAY, 0).size());
+        assertEquals(2, reportService.getProductSales(DAY, DAY, Integer.MAX_VALUE).size());
+        assertThrows(APIException.class, () -> reportService.getProductSales(DAY, DAY.minusDays(1), 10));
+    }
+
+    private OutboxEvent orderPlaced(Long eventId, double totalAmount, OrderEventItemDTO... items) throws Exception {
+        String payload = objectMapper.writeValueAsString(
+                new OrderEventDTO(eventId, "buyer@example.com", DAY, totalAmount, List.of(items)));
+        OutboxEvent event = new OutboxEvent(OutboxEventType.ORDER_PLACED, "Order", eventId, payload);
+        event.setEventId(eventId);
+        return event;
+    }
+}
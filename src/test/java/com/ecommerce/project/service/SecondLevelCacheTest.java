@@ -0,0 +1,120 @@
+package com.ecommerce.project.service;
+
+import com.ecommerce.project.model.*;
+import com.ecommerce.project.payload.ProductDTO;
+import com.ecommerce.project.repositories.CategoryRepository;
+import com.ecommerce.project.repositories.ProductRepository;
+import com.ecommerce.project.repositories.RoleRepository;
+import com.ecommerce.project.support.QueryCount;
+import com.ecommerce.project.support.SqlStatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Reference lookups are served from the second-level cache after the first read, admin writes through
+// the services update it, and a write made by another instance is evicted by the catalog refresh.
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CatalogChangeServiceImpl catalogChangeService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static int seq;
+
+    @Test
+    void roleLookupByNameIsServedFromCache() {
+        Statistics statistics = statistics();
+        roleRepository.findByRoleName(AppRole.ROLE_USER).orElseThrow();
+
+        long hits = statistics.getQueryRegionStatistics("query.roles").getHitCount();
+        QueryCount count = SqlStatementCounter.count(() -> roleRepository.findByRoleName(AppRole.ROLE_USER).orElseThrow());
+
+        assertEquals(0, count.total(), count.toString());
+        assertEquals(hits + 1, statistics.getQueryRegionStatistics("query.roles").getHitCount());
+    }
+
+    @Test
+    void categoryAndProductReadsHitCacheAndSeeAdminUpdates() {
+        Product product = seedProduct();
+        categoryRepository.findById(product.getCategory().getCategoryId()).orElseThrow();
+        productRepository.findById(product.getProductId()).orElseThrow();
+
+        long productHits = statistics().getDomainDataRegionStatistics("catalog.product").getHitCount();
+        QueryCount count = SqlStatementCounter.count(() -> {
+            categoryRepository.findById(product.getCategory().getCategoryId()).orElseThrow();
+            productRepository.findById(product.getProductId()).orElseThrow();
+        });
+        assertEquals(0, count.total(), count.toString());
+        assertTrue(statistics().getDomainDataRegionStatistics("catalog.product").getHitCount() > productHits);
+
+        ProductDTO update = new ProductDTO();
+        update.setProductName(product.getProductName());
+        update.setDescription("Updated by an admin");
+        update.setQuantity(7);
+        update.setPrice(300);
+        productService.updateProduct(product.getProductId(), update);
+
+        assertEquals(300, productRepository.findById(product.getProductId()).orElseThrow().getPrice());
+    }
+
+    @Test
+    void changeFromAnotherInstanceIsEvictedOnRefresh() {
+        Product product = seedProduct();
+        catalogChangeService.refreshVersion();
+        productRepository.findById(product.getProductId()).orElseThrow();
+
+        // another instance updates the row and logs the change; this instance's cache still has the old row
+        jdbcTemplate.update("UPDATE products SET price = ? WHERE product_id = ?", 450.0, product.getProductId());
+        catalogChangeService.recordChange(CatalogEntityType.PRODUCT, product.getProductId(), CatalogChangeType.UPSERT);
+        assertEquals(100, productRepository.findById(product.getProductId()).orElseThrow().getPrice());
+
+        catalogChangeService.refreshVersion();
+
+        assertEquals(450, productRepository.findById(product.getProductId()).orElseThrow().getPrice());
+    }
+
+    private Product seedProduct() {
+        Category category = categoryRepository.save(new Category(null, "Cached " + (++seq), null));
+        Product product = new Product();
+        product.setProductName("Cached product " + seq);
+        product.setDescription("Second-level cache");
+        product.setQuantity(10);
+        product.setPrice(100);
+        product.setSpecialPrice(100);
+        product.setCategory(category);
+        product = productRepository.save(product);
+        catalogChangeService.recordChange(CatalogEntityType.PRODUCT, product.getProductId(), CatalogChangeType.UPSERT);
+        return product;
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
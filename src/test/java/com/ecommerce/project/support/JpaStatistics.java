@@ -0,0 +1,34 @@
+package com.ecommerce.project.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.function.Executable;
+
+// Hibernate's session factory statistics for one operation at a time. Needs
+// spring.jpa.properties.hibernate.generate_statistics=true (the default in application.properties).
+// Unlike SqlStatementCounter it counts statements from every thread, so keep background jobs off.
+public final class JpaStatistics {
+
+    private final Statistics statistics;
+
+    public JpaStatistics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // clears the counters, runs the operation and returns what it cost
+    public Cost measure(Executable operation) {
+        statistics.clear();
+        long start = System.nanoTime();
+        try {
+            operation.execute();
+        } catch (Throwable e) {
+            throw new AssertionError("Measured operation failed", e);
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Cost(statistics.getPrepareStatementCount(), statistics.getEntityLoadCount(), elapsed);
+    }
+
+    public record Cost(long statements, long entityLoads, long nanos) {
+    }
+}
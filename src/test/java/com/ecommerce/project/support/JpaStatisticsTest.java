@@ -0,0 +1,25 @@
+package com.ecommerce.project.support;
+
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.*;
+
+// JPA slice for measuring service calls with JpaStatistics: the test profile and no test-managed
+// transaction, so every service call opens and commits its own as it does in production. Import the
+// services under test with @Import.
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public @interface JpaStatisticsTest {
+
+    @AliasFor(annotation = DataJpaTest.class)
+    String[] properties() default {};
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.project.support;
+
+import java.util.List;
+import java.util.Locale;
+
+// Statements captured by SqlStatementCounter for one operation, in execution order.
+public record QueryCount(List<String> statements) {
+
+    public int total() {
+        return statements.size();
+    }
+
+    public long selects() {
+        return ofType("select");
+    }
+
+    public long inserts() {
+        return ofType("insert");
+    }
+
+    public long updates() {
+        return ofType("update");
+    }
+
+    public long deletes() {
+        return ofType("delete");
+    }
+
+    private long ofType(String keyword) {
+        return statements.stream()
+                .filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith(keyword))
+                .count();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        out.append(total()).append(" statements (").append(selects()).append(" select, ")
+                .append(inserts()).append(" insert, ").append(updates()).append(" update, ")
+                .append(deletes()).append(" delete)");
+        for (String sql : statements) {
+            out.append("\n  ").append(sql);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.project.support;
+
+import org.junit.jupiter.api.function.Executable;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    // runs the operation and fails if it issues more than maxStatements
+    public static QueryCount assertMaxStatements(int maxStatements, Executable operation) {
+        QueryCount count = SqlStatementCounter.count(operation);
+        assertMaxStatements(maxStatements, count);
+        return count;
+    }
+
+    public static void assertMaxStatements(int maxStatements, QueryCount count) {
+        if (count.total() > maxStatements) {
+            fail("Expected at most " + maxStatements + " statements but got " + count);
+        }
+    }
+
+    // the same operation measured before and after the data it touches grew: any difference is an
+    // N+1 (or worse) that will scale with production data
+    public static void assertStatementCountDoesNotGrow(QueryCount smaller, QueryCount larger) {
+        if (larger.total() > smaller.total()) {
+            fail("Statement count grew with data size from " + smaller.total() + " to " + larger.total()
+                    + "\nsmall data: " + smaller + "\nlarge data: " + larger);
+        }
+    }
+}
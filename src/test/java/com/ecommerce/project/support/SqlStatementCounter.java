@@ -0,0 +1,53 @@
+package com.ecommerce.project.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Counts the SQL statements Hibernate prepares while an operation runs. Register it on the session
+// factory with
+//   spring.jpa.properties.hibernate.session_factory.statement_inspector=com.ecommerce.project.support.SqlStatementCounter
+// and measure with count(...) or the helpers in QueryCountAssertions. Statements issued outside
+// Hibernate (plain JDBC) are not seen. Only the measuring thread is recorded, so a @Scheduled job that
+// happens to run meanwhile is not counted; measured operations must not overlap.
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final Object LOCK = new Object();
+    private static List<String> recording;
+    private static Thread recordingThread;
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (LOCK) {
+            if (recording != null && Thread.currentThread() == recordingThread) {
+                recording.add(sql);
+            }
+        }
+        return sql;
+    }
+
+    public static QueryCount count(Executable operation) {
+        synchronized (LOCK) {
+            if (recording != null) {
+                throw new IllegalStateException("Nested SqlStatementCounter.count");
+            }
+            recording = new ArrayList<>();
+            recordingThread = Thread.currentThread();
+        }
+        List<String> statements;
+        try {
+            operation.execute();
+        } catch (Throwable e) {
+            throw new AssertionError("Measured operation failed", e);
+        } finally {
+            synchronized (LOCK) {
+                statements = recording;
+                recording = null;
+                recordingThread = null;
+            }
+        }
+        return new QueryCount(statements);
+    }
+}
@@ -0,0 +1,120 @@
+package com.ecommerce.project.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// N callers released together on the same key: the loader runs once while every caller is parked
+// behind it, all of them get its value or its exception, and the next call after completion loads again.
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        Object value = new Object();
+
+        List<Object> results = callTogether(release -> () -> {
+            loads.incrementAndGet();
+            await(release);
+            return value;
+        });
+
+        assertEquals(1, loads.get());
+        assertEquals(CALLERS, results.size());
+        results.forEach(result -> assertSame(value, result));
+
+        // nothing is kept once the call completes
+        assertSame(value, singleFlight.execute("key", () -> {
+            loads.incrementAndGet();
+            return value;
+        }));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void failureReachesEveryWaiter() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        IllegalStateException failure = new IllegalStateException("load failed");
+
+        List<Object> results = callTogether(release -> () -> {
+            loads.incrementAndGet();
+            await(release);
+            throw failure;
+        });
+
+        assertEquals(1, loads.get());
+        assertEquals(CALLERS, results.size());
+        results.forEach(result -> assertSame(failure, result));
+    }
+
+    // starts CALLERS threads on a latch, lets the loader finish only once every other caller is
+    // waiting for it, and returns what each caller got back (a value or the exception it threw)
+    private List<Object> callTogether(Function<CountDownLatch, Supplier<Object>> loader)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Object> results = Collections.synchronizedList(new ArrayList<>());
+        Supplier<Object> load = loader.apply(release);
+
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            Thread caller = new Thread(() -> {
+                await(start);
+                try {
+                    results.add(singleFlight.execute("key", load));
+                } catch (RuntimeException e) {
+                    results.add(e);
+                }
+            });
+            caller.start();
+            callers.add(caller);
+        }
+        start.countDown();
+        awaitJoined(callers);
+        release.countDown();
+        for (Thread caller : callers) {
+            caller.join(TimeUnit.SECONDS.toMillis(10));
+            assertFalse(caller.isAlive(), "caller did not finish");
+        }
+        return results;
+    }
+
+    // the loader waits on the release latch with a timeout, so a caller is in untimed WAITING only
+    // when it has joined the in-flight call; wait until that is everyone but the loader
+    private static void awaitJoined(List<Thread> callers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (callers.stream().filter(caller -> caller.getState() == Thread.State.WAITING).count() < CALLERS - 1) {
+            if (System.nanoTime() > deadline) {
+                fail("callers did not reach the in-flight call");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("latch timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}